@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first successful POST /orders, plain jar vs AOT + CDS.
+#
+#   ./mvnw -Pcds -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Each run starts the app on a fresh in-memory database, polls POST /orders until it returns
+# 201, records the elapsed milliseconds and stops the app.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+APP_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/application"
+JAR=$(find "$APP_DIR" -maxdepth 1 -name '*.jar' | head -n 1)
+
+if [[ -z "$JAR" || ! -f "$APP_DIR/application.jsa" ]]; then
+  echo "Build first: ./mvnw -Pcds -DskipTests package" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+time_to_first_create() {
+  local start pid status elapsed
+  start=$(now_ms)
+  java "$@" -jar "$JAR" --server.port="$PORT" \
+    --spring.datasource.url="jdbc:h2:mem:startup_bench;MODE=PostgreSQL" >/dev/null 2>&1 &
+  pid=$!
+  while true; do
+    status=$(curl -s -o /dev/null -w '%{http_code}' -u user:password \
+      -H 'Content-Type: application/json' -d '{"customerId":"startup"}' \
+      "http://localhost:$PORT/orders" || true)
+    if [[ "$status" == "201" ]]; then
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+report() {
+  local mode=$1; shift
+  local results=()
+  for ((i = 1; i <= RUNS; i++)); do
+    results+=("$(time_to_first_create "$@")")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${results[@]}" | sort -n)
+  printf '%-10s runs=%d  min=%sms  median=%sms  max=%sms\n' "$mode" "$RUNS" \
+    "$(echo "$sorted" | head -n 1)" \
+    "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+    "$(echo "$sorted" | tail -n 1)"
+}
+
+cd "$APP_DIR"
+report "plain"
+report "aot+cds" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
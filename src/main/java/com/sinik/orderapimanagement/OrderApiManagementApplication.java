@@ -1,15 +1,41 @@
 package com.sinik.orderapimanagement;
 
+import com.sinik.orderapimanagement.config.AdminProperties;
+import com.sinik.orderapimanagement.coordination.CoordinationProperties;
+import com.sinik.orderapimanagement.datasource.DataSourceRoutingProperties;
+import com.sinik.orderapimanagement.monitoring.SqlBudgetProperties;
+import com.sinik.orderapimanagement.history.StatusHistoryProperties;
 import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.ratelimit.RateLimitProperties;
+import com.sinik.orderapimanagement.repo.archive.ArchiveProperties;
+import com.sinik.orderapimanagement.repo.memory.MemoryStoreProperties;
+import com.sinik.orderapimanagement.repo.sharding.ShardingProperties;
+import com.sinik.orderapimanagement.service.GroupCommitProperties;
+import com.sinik.orderapimanagement.service.OrderExpiryProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableConfigurationProperties(NotificationProperties.class)
+@EnableConfigurationProperties({
+        NotificationProperties.class,
+        SqlBudgetProperties.class,
+        GroupCommitProperties.class,
+        DataSourceRoutingProperties.class,
+        ShardingProperties.class,
+        ArchiveProperties.class,
+        MemoryStoreProperties.class,
+        RateLimitProperties.class,
+        StatusHistoryProperties.class,
+        OrderExpiryProperties.class,
+        CoordinationProperties.class,
+        AdminProperties.class
+})
 @EnableRetry
 @EnableAsync
+@EnableScheduling
 @SpringBootApplication
 public class OrderApiManagementApplication {
 
@@ -0,0 +1,56 @@
+package com.sinik.orderapimanagement.api;
+
+import com.sinik.orderapimanagement.api.dto.DeadLetterResponse;
+import com.sinik.orderapimanagement.api.dto.PageResponse;
+import com.sinik.orderapimanagement.api.dto.ReplayRequest;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetter;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterReplayer;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterStore;
+import com.sinik.orderapimanagement.notification.deadletter.ReplayStatus;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/dead-letters")
+public class DeadLetterAdminController {
+
+    private final DeadLetterStore store;
+    private final DeadLetterReplayer replayer;
+
+    public DeadLetterAdminController(DeadLetterStore store, DeadLetterReplayer replayer) {
+        this.store = store;
+        this.replayer = replayer;
+    }
+
+    @GetMapping
+    public PageResponse<DeadLetterResponse> list(Pageable pageable) {
+        return PageResponse.from(store.list(pageable).map(DeadLetterAdminController::toResponse));
+    }
+
+    @PostMapping("/replay")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReplayStatus replay(@Valid @RequestBody(required = false) ReplayRequest req) {
+        return req == null ? replayer.start(null, null) : replayer.start(req.limit(), req.ratePerSecond());
+    }
+
+    @GetMapping("/replay")
+    public ReplayStatus replayStatus() {
+        return replayer.status();
+    }
+
+    private static DeadLetterResponse toResponse(DeadLetter d) {
+        return new DeadLetterResponse(
+                d.getId(),
+                d.getChannel(),
+                d.getType(),
+                d.getOrderId(),
+                d.getSequence(),
+                d.getAttempts(),
+                d.getLastError(),
+                d.getOccurredAt(),
+                d.getFailedAt()
+        );
+    }
+}
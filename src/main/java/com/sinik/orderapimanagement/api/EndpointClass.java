@@ -0,0 +1,29 @@
+package com.sinik.orderapimanagement.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Coarse classification of /orders requests, used wherever limits or budgets
+ * are configured per kind of endpoint rather than per URL.
+ */
+public enum EndpointClass {
+    WRITE,
+    POINT_READ,
+    SEARCH,
+    OTHER;
+
+    private static final String ORDERS = "/orders";
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals(ORDERS) && !path.startsWith(ORDERS + "/")) {
+            return OTHER;
+        }
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        return path.equals(ORDERS) || path.equals(ORDERS + "/") ? SEARCH : POINT_READ;
+    }
+}
@@ -3,8 +3,10 @@ package com.sinik.orderapimanagement.api;
 import com.sinik.orderapimanagement.api.dto.CreateOrderRequest;
 import com.sinik.orderapimanagement.api.dto.OrderResponse;
 import com.sinik.orderapimanagement.api.dto.PageResponse;
+import com.sinik.orderapimanagement.api.dto.StatusChangeResponse;
 import com.sinik.orderapimanagement.api.dto.UpdateStatusRequest;
 import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.service.OrderReadCoalescer;
 import com.sinik.orderapimanagement.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,9 +24,11 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService service;
+    private final OrderReadCoalescer reads;
 
-    public OrderController(OrderService service) {
+    public OrderController(OrderService service, OrderReadCoalescer reads) {
         this.service = service;
+        this.reads = reads;
     }
 
     @PostMapping
@@ -34,7 +39,9 @@ public class OrderController {
 
     @GetMapping("/{id}")
     public OrderResponse get(@PathVariable UUID id) {
-        return toResponse(service.get(id));
+        // One point read whether or not the client revalidates: a 304 and a changed order cost the same.
+        // OrderETags tags the body once the representation is negotiated and answers If-None-Match.
+        return toResponse(reads.get(id));
     }
 
     @PatchMapping("/{id}/status")
@@ -42,10 +49,17 @@ public class OrderController {
         return toResponse(service.updateStatus(id, req.status()));
     }
 
+    @GetMapping("/{id}/history")
+    public List<StatusChangeResponse> history(@PathVariable UUID id) {
+        return service.history(id).stream()
+                .map(h -> new StatusChangeResponse(h.getFromStatus(), h.getToStatus(), h.getChangedAt()))
+                .toList();
+    }
+
     @GetMapping
     public PageResponse<OrderResponse> search(@RequestParam(required = false) OrderStatus status,
                                               @RequestParam(required = false) Instant from, @RequestParam(required = false) Instant to, Pageable pageable) {
-        return PageResponse.from(service.search(status, from, to, pageable).map(OrderController::toResponse));
+        return PageResponse.from(reads.search(status, from, to, pageable).map(OrderController::toResponse));
     }
 
     private static OrderResponse toResponse(Order o) {
@@ -0,0 +1,57 @@
+package com.sinik.orderapimanagement.api;
+
+import com.sinik.orderapimanagement.api.dto.OrderResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Strong ETags and conditional GET for single orders. {@code updatedAt} changes on every write, so id plus
+ * {@code updatedAt} at full precision identifies one version of an order; the media type is part of the tag
+ * because the JSON and CBOR bodies of that version are different representations.
+ *
+ * The tag is set here rather than in the controller because only now has content negotiation picked the
+ * converter, so the media type in the tag is always the one of the body being written.
+ */
+@RestControllerAdvice(assignableTypes = OrderController.class)
+public class OrderETags implements ResponseBodyAdvice<Object> {
+
+    static String of(UUID id, Instant updatedAt, MediaType representation) {
+        return "\"" + id + "-" + updatedAt.getEpochSecond() + "." + updatedAt.getNano()
+                + "-" + representation.getSubtype() + "\"";
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof OrderResponse order)
+                || !(request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD)) {
+            return body;
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(
+                ((ServletServerHttpRequest) request).getServletRequest(),
+                ((ServletServerHttpResponse) response).getServletResponse());
+        // sets the ETag header, and the 304 status when If-None-Match matches
+        if (webRequest.checkNotModified(of(order.id(), order.updatedAt(), selectedContentType))) {
+            return null;
+        }
+        return body;
+    }
+}
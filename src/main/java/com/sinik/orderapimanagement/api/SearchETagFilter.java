@@ -0,0 +1,22 @@
+package com.sinik.orderapimanagement.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Weak ETags for search pages ({@code GET /orders}), computed from the response body.
+ * The page is still queried and rendered, but an unchanged page goes back as a bodiless 304.
+ */
+@Component
+public class SearchETagFilter extends ShallowEtagHeaderFilter {
+
+    public SearchETagFilter() {
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return EndpointClass.of(request) != EndpointClass.SEARCH;
+    }
+}
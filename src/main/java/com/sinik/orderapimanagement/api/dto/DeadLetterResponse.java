@@ -0,0 +1,16 @@
+package com.sinik.orderapimanagement.api.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record DeadLetterResponse(
+        Long id,
+        String channel,
+        String type,
+        UUID orderId,
+        long sequence,
+        int attempts,
+        String lastError,
+        Instant occurredAt,
+        Instant failedAt
+) {}
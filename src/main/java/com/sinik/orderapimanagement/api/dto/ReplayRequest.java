@@ -0,0 +1,9 @@
+package com.sinik.orderapimanagement.api.dto;
+
+import jakarta.validation.constraints.Positive;
+
+/** Both optional: replay everything at the configured rate by default. */
+public record ReplayRequest(
+        @Positive Long limit,
+        @Positive Double ratePerSecond
+) {}
@@ -0,0 +1,10 @@
+package com.sinik.orderapimanagement.api.dto;
+
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import java.time.Instant;
+
+public record StatusChangeResponse(
+        OrderStatus from,
+        OrderStatus to,
+        Instant changedAt
+) {}
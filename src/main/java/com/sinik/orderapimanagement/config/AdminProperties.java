@@ -0,0 +1,16 @@
+package com.sinik.orderapimanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+
+/**
+ * Credentials of the single ADMIN user for {@code /admin/**}. There is no default: while either
+ * value is unset the admin endpoints are closed to everyone.
+ */
+@ConfigurationProperties(prefix = "admin")
+public record AdminProperties(String username, String password) {
+
+    public boolean configured() {
+        return StringUtils.hasText(username) && StringUtils.hasText(password);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sinik.orderapimanagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds CBOR ({@code application/cbor}) next to JSON. Clients that send {@code Accept: application/cbor}
+ * get the same DTOs as a binary encoding: no quoting or escaping, and numbers and lengths in binary.
+ *
+ * Every {@code /orders} response therefore depends on {@code Accept} and says so with {@code Vary},
+ * so shared caches never answer a CBOR request with a cached JSON body or the other way round.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    // takes the builder's CBOR slot, which comes after JSON: a request without Accept, or with */*, still gets JSON
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/orders", "/orders/**");
+    }
+}
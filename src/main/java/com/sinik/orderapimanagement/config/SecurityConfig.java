@@ -1,5 +1,10 @@
 package com.sinik.orderapimanagement.config;
 
+import com.sinik.orderapimanagement.ratelimit.AdmissionControlFilter;
+import com.sinik.orderapimanagement.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -11,35 +16,57 @@ import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import tools.jackson.databind.ObjectMapper;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitProperties rateLimit, AdminProperties admin,
+                                            ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) throws Exception {
         System.out.println(">>> SecurityConfig LOADED (basic auth user/password)");
 
         http
                 .csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/h2-console/**").permitAll()
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/h2-console/**").permitAll();
+                    if (admin.configured()) {
+                        auth.requestMatchers("/admin/**").hasRole("ADMIN");
+                    } else {
+                        auth.requestMatchers("/admin/**").denyAll();
+                    }
+                    auth.anyRequest().authenticated();
+                })
                 .httpBasic(Customizer.withDefaults());
 
         http.headers(headers -> headers.frameOptions(frame -> frame.disable()));
+
+        if (rateLimit.enabled()) {
+            // after authentication, so limits are per principal
+            http.addFilterAfter(new AdmissionControlFilter(rateLimit, objectMapper,
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)), BasicAuthenticationFilter.class);
+        }
         return http.build();
     }
 
     @Bean
-    UserDetailsService userDetailsService() {
-        return new InMemoryUserDetailsManager(
+    UserDetailsService userDetailsService(AdminProperties admin) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
                 User.withUsername("user")
                         .password("password")   // encoded by PasswordEncoder bean below
                         .roles("USER")
                         .build()
         );
+        // admin.username / admin.password have no default; without them /admin/** is denied to everyone
+        if (admin.configured()) {
+            users.createUser(User.withUsername(admin.username())
+                    .password(admin.password())
+                    .roles("USER", "ADMIN")
+                    .build());
+        }
+        return users;
     }
 
     @Bean
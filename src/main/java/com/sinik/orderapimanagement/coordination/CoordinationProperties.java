@@ -0,0 +1,10 @@
+package com.sinik.orderapimanagement.coordination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Identity of this instance when several share one database. {@code nodeId} defaults to the
+ * host name plus a random suffix, so two instances on one host never collide.
+ */
+@ConfigurationProperties(prefix = "coordination")
+public record CoordinationProperties(String nodeId) {}
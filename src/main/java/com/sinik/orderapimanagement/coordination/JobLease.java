@@ -0,0 +1,26 @@
+package com.sinik.orderapimanagement.coordination;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/** Row-level lease for work that must run on one instance at a time; see {@link LeaseManager}. */
+@Entity
+@Table(name = "job_lease")
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+
+    protected JobLease() { }
+
+    public String getName() { return name; }
+    public String getOwner() { return owner; }
+    public Instant getLeaseUntil() { return leaseUntil; }
+}
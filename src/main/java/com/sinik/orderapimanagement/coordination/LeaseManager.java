@@ -0,0 +1,50 @@
+package com.sinik.orderapimanagement.coordination;
+
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Leases in the shared {@code job_lease} table, for jobs that must run on only one instance.
+ *
+ * Acquiring is a single conditional UPDATE (free, expired, or already ours), falling back to an
+ * INSERT for a lease that has never been taken; the primary key decides races. The owner renews by
+ * acquiring again before {@code ttl} runs out. A crashed owner's lease simply expires. Expiry is
+ * judged by each instance's own clock, so ttl should be well above the expected clock skew.
+ */
+@Component
+public class LeaseManager {
+
+    private final JdbcTemplate jdbc;
+    private final NodeIdentity node;
+
+    public LeaseManager(JdbcTemplate jdbc, NodeIdentity node) {
+        this.jdbc = jdbc;
+        this.node = node;
+    }
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        int updated = jdbc.update(
+                "UPDATE job_lease SET owner = ?, lease_until = ? WHERE name = ? AND (owner = ? OR lease_until < ?)",
+                node.id(), OrderSql.timestamp(now.plus(ttl)), name, node.id(), OrderSql.timestamp(now));
+        if (updated == 1) {
+            return true;
+        }
+        try {
+            jdbc.update("INSERT INTO job_lease (name, owner, lease_until) VALUES (?, ?, ?)",
+                    name, node.id(), OrderSql.timestamp(now.plus(ttl)));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false; // held by another instance
+        }
+    }
+
+    public void release(String name) {
+        jdbc.update("DELETE FROM job_lease WHERE name = ? AND owner = ?", name, node.id());
+    }
+}
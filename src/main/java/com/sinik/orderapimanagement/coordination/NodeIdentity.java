@@ -0,0 +1,32 @@
+package com.sinik.orderapimanagement.coordination;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/** The name this instance uses as owner of leases and claims. */
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(CoordinationProperties props) {
+        this.id = props.nodeId() != null && !props.nodeId().isBlank() ? props.nodeId() : generate();
+    }
+
+    public String id() {
+        return id;
+    }
+
+    private static String generate() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
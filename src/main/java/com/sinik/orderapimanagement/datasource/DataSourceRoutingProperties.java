@@ -0,0 +1,27 @@
+package com.sinik.orderapimanagement.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read/write splitting: read-only transactions go to one of the replicas, everything else
+ * to the primary ({@code spring.datasource.*}). A caller that wrote within
+ * {@code readYourWritesWindow} keeps reading from the primary.
+ */
+@ConfigurationProperties(prefix = "datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue Replication replication
+) {
+    public record Replica(String url, String username, String password) {}
+
+    /** Local replication stub that copies changed orders from the primary to every replica. */
+    public record Replication(@DefaultValue("false") boolean enabled,
+                              @DefaultValue("500ms") Duration interval,
+                              @DefaultValue("1000") int batchSize) {}
+}
@@ -0,0 +1,59 @@
+package com.sinik.orderapimanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    RoutingDataSources routingDataSources(@Value("${spring.datasource.url}") String url,
+                                          @Value("${spring.datasource.username:}") String username,
+                                          @Value("${spring.datasource.password:}") String password,
+                                          DataSourceRoutingProperties props) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < props.replicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = props.replicas().get(i);
+            replicas.add(pool("replica-" + i, replica.url(), replica.username(), replica.password(), true));
+        }
+        return new RoutingDataSources(pool("primary", url, username, password, false), List.copyOf(replicas));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(RoutingDataSources sources) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, sources.primary());
+        for (int i = 0; i < sources.replicas().size(); i++) {
+            targets.put(ReadWriteRoutingDataSource.REPLICA_PREFIX + i, sources.replicas().get(i));
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(sources.replicas().size());
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(sources.primary());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, boolean readOnly) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        ds.setReadOnly(readOnly);
+        return ds;
+    }
+}
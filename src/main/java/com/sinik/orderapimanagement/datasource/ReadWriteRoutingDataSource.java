@@ -0,0 +1,49 @@
+package com.sinik.orderapimanagement.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions to a replica (round-robin) and all other
+ * connections to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy} so the
+ * transaction's read-only flag is known by the time the physical connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(int replicaCount) {
+        this.replicaCount = replicaCount;
+    }
+
+    /** Sends every read on the calling thread to the primary until {@link #unpin()}. */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount == 0
+                || isPinnedToPrimary()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+}
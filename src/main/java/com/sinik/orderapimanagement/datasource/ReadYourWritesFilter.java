@@ -0,0 +1,51 @@
+package com.sinik.orderapimanagement.datasource;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Pins the reads of a caller that has just created or patched an order to the primary,
+ * and records successful writes. Runs after the security filter chain, so the principal is known.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String caller = principal.getName();
+        if (tracker.wroteRecently(caller)) {
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+            if (EndpointClass.of(request) == EndpointClass.WRITE && response.getStatus() < 400) {
+                tracker.recordWrite(caller);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.sinik.orderapimanagement.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which callers wrote recently, so their reads can be kept on the primary
+ * until the replicas have had time to catch up.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWriteByCaller = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties props) {
+        this.windowNanos = props.readYourWritesWindow().toNanos();
+    }
+
+    public void recordWrite(String caller) {
+        lastWriteByCaller.put(caller, System.nanoTime());
+    }
+
+    public boolean wroteRecently(String caller) {
+        Long at = lastWriteByCaller.get(caller);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.read-your-writes-window:5s}")
+    void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteByCaller.values().removeIf(at -> now - at >= windowNanos);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sinik.orderapimanagement.datasource;
+
+import com.sinik.orderapimanagement.coordination.LeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local stand-in for database replication: copies orders changed since the last run from the
+ * primary to every replica. Good enough to exercise routing and replica lag against H2; it does
+ * not replicate deletes, and real deployments rely on the database's own replication instead.
+ * With several instances, only the holder of the {@code replication} lease copies. The lease is
+ * released on shutdown, so another instance takes over at its next run rather than after the ttl.
+ */
+@Component
+@ConditionalOnProperty(name = {"datasource.routing.enabled", "datasource.routing.replication.enabled"}, havingValue = "true")
+public class ReplicationStub implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicationStub.class);
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS orders (
+                id UUID PRIMARY KEY,
+                status VARCHAR(32) NOT NULL,
+                customer_id VARCHAR(255) NOT NULL,
+                created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+            )""";
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final int batchSize;
+    private final LeaseManager leases;
+    private final Duration leaseTtl;
+
+    private Timestamp watermark = new Timestamp(0);
+
+    public ReplicationStub(RoutingDataSources sources, DataSourceRoutingProperties props, LeaseManager leases) {
+        this.primary = new JdbcTemplate(sources.primary());
+        this.leases = leases;
+        // a few missed runs before another instance takes over
+        this.leaseTtl = props.replication().interval().multipliedBy(10);
+        this.replicas = sources.replicas().stream().map(JdbcTemplate::new).toList();
+        this.batchSize = props.replication().batchSize();
+        this.replicas.forEach(r -> r.execute(CREATE_TABLE));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.replication.interval:500ms}",
+            initialDelayString = "${datasource.routing.replication.interval:500ms}")
+    public synchronized int replicateOnce() {
+        if (!leases.tryAcquire("replication", leaseTtl)) {
+            return 0;
+        }
+        int copied = 0;
+        // keyset over (updated_at, id): a run can page through any number of rows sharing one
+        // updated_at. Each run restarts at the first row with the watermark timestamp, so rows
+        // committed later with that same timestamp are still picked up; MERGE makes re-copies harmless
+        Timestamp cursorAt = watermark;
+        UUID cursorId = MIN_ID;
+        while (true) {
+            List<Object[]> rows = primary.query(
+                    "SELECT id, status, customer_id, created_at, updated_at FROM orders "
+                            + "WHERE updated_at > ? OR (updated_at = ? AND id > ?) ORDER BY updated_at, id LIMIT ?",
+                    (rs, n) -> new Object[]{
+                            rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getObject(4), rs.getTimestamp(5)
+                    },
+                    cursorAt, cursorAt, cursorId, batchSize);
+            if (rows.isEmpty()) break;
+
+            for (JdbcTemplate replica : replicas) {
+                replica.batchUpdate(
+                        "MERGE INTO orders (id, status, customer_id, created_at, updated_at) KEY (id) VALUES (?, ?, ?, ?, ?)",
+                        rows);
+            }
+            copied += rows.size();
+
+            Object[] last = rows.get(rows.size() - 1);
+            cursorAt = (Timestamp) last[4];
+            cursorId = (UUID) last[0];
+            if (rows.size() < batchSize) break;
+        }
+        watermark = cursorAt;
+        if (copied > 0) {
+            log.debug("Replicated {} orders to {} replicas", copied, replicas.size());
+        }
+        return copied;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        try {
+            leases.release("replication");
+        } catch (RuntimeException ex) {
+            log.warn("Could not release the replication lease; it lapses after {}", leaseTtl, ex);
+        }
+    }
+}
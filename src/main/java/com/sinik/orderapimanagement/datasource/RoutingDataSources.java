@@ -0,0 +1,18 @@
+package com.sinik.orderapimanagement.datasource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/** The physical datasources behind the routing datasource. */
+public record RoutingDataSources(DataSource primary, List<DataSource> replicas) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable c) c.close();
+        }
+        if (primary instanceof Closeable c) c.close();
+    }
+}
@@ -2,6 +2,7 @@ package com.sinik.orderapimanagement.domain;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
@@ -33,16 +34,27 @@ public class Order {
         this.status = OrderStatus.CREATED;
     }
 
+    /** Rebuilds an order read from storage that does not go through JPA. */
+    public static Order restore(UUID id, OrderStatus status, String customerId, Instant createdAt, Instant updatedAt) {
+        Order o = new Order(customerId);
+        o.id = id;
+        o.status = status;
+        o.createdAt = createdAt;
+        o.updatedAt = updatedAt;
+        return o;
+    }
+
+    // the columns keep microseconds: stamping at that precision makes the returned order match what a later read sees
     @PrePersist
     void onCreate() {
-        Instant now = Instant.now();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
         this.createdAt = now;
         this.updatedAt = now;
     }
 
     @PreUpdate
     void onUpdate() {
-        this.updatedAt = Instant.now();
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public UUID getId() { return id; }
@@ -1,8 +1,10 @@
 package com.sinik.orderapimanagement.error;
 
+import com.sinik.orderapimanagement.notification.deadletter.ReplayAlreadyRunningException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -33,6 +35,19 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, ex.getMessage(), req.getRequestURI());
     }
 
+    // the order stayed locked by another update for longer than the database's lock timeout
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> lockTimeout(PessimisticLockingFailureException ex, HttpServletRequest req) {
+        log.warn("Lock timeout path={} msg={}", req.getRequestURI(), ex.getMessage());
+        return build(HttpStatus.CONFLICT, "Order is being updated concurrently, please retry", req.getRequestURI());
+    }
+
+    @ExceptionHandler(ReplayAlreadyRunningException.class)
+    public ResponseEntity<ApiError> replayRunning(ReplayAlreadyRunningException ex, HttpServletRequest req) {
+        log.warn("Replay rejected path={} msg={}", req.getRequestURI(), ex.getMessage());
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req.getRequestURI());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> validation(MethodArgumentNotValidException ex, HttpServletRequest req) {
         Map<String, String> fieldErrors = ex.getBindingResult()
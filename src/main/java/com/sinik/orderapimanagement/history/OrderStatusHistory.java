@@ -0,0 +1,40 @@
+package com.sinik.orderapimanagement.history;
+
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** One status change of an order. Rows are only ever inserted, by {@link StatusHistoryAppender}. */
+@Entity
+@Table(name = "order_status_history",
+        indexes = @Index(name = "idx_status_history_order_changed", columnList = "order_id, changed_at"))
+public class OrderStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false, length = 32)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 32)
+    private OrderStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    protected OrderStatusHistory() { }
+
+    public Long getId() { return id; }
+    public UUID getOrderId() { return orderId; }
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public OrderStatus getToStatus() { return toStatus; }
+    public Instant getChangedAt() { return changedAt; }
+}
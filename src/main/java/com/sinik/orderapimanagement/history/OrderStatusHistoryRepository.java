@@ -0,0 +1,11 @@
+package com.sinik.orderapimanagement.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+    // served by idx_status_history_order_changed
+    List<OrderStatusHistory> findByOrderIdOrderByChangedAtAscIdAsc(UUID orderId);
+}
@@ -0,0 +1,139 @@
+package com.sinik.orderapimanagement.history;
+
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends status changes to {@code order_status_history} behind the request.
+ *
+ * The after-commit listener only enqueues the event, so a PATCH does no extra I/O. A flusher thread
+ * writes the queue with one JDBC batch insert per {@code batchSize} rows. History therefore lags
+ * a change by up to {@code maxDelay} plus the insert time. The committing thread blocks only
+ * when the queue is full. A batch is inserted in one transaction; if it fails, its rows are
+ * inserted one by one, so a single bad row does not take the rest of the batch with it.
+ */
+@Component
+public class StatusHistoryAppender implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(StatusHistoryAppender.class);
+
+    private static final String INSERT =
+            "INSERT INTO order_status_history (order_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final StatusHistoryProperties props;
+    private final BlockingQueue<OrderStatusChangedEvent> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public StatusHistoryAppender(JdbcTemplate jdbc, PlatformTransactionManager txManager, StatusHistoryProperties props) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.props = props;
+        this.queue = new LinkedBlockingQueue<>(props.queueCapacity());
+    }
+
+    // synchronous, after commit: rolled-back changes never reach the history (the memory engine has no
+    // transaction, so its changes arrive right away)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent e) {
+        if (e.from() == e.to()) {
+            return;
+        }
+        try {
+            queue.put(e);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted; status change {} -> {} of order {} not recorded", e.from(), e.to(), e.orderId());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "order-status-history");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(props.maxDelay().toMillis() + 5_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<OrderStatusChangedEvent> batch = new ArrayList<>(props.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderStatusChangedEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + props.maxDelay().toNanos();
+                while (batch.size() < props.batchSize()) {
+                    queue.drainTo(batch, props.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= props.batchSize() || remaining <= 0) break;
+                    OrderStatusChangedEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                insert(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<OrderStatusChangedEvent> batch) {
+        try {
+            // one transaction, so a failed batch leaves no rows behind to be inserted twice below
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, batch, batch.size(), (ps, e) -> {
+                ps.setObject(1, e.orderId());
+                ps.setString(2, e.from().name());
+                ps.setString(3, e.to().name());
+                ps.setObject(4, OrderSql.timestamp(e.changedAt()));
+            }));
+        } catch (RuntimeException ex) {
+            log.warn("Batch insert of {} status history rows failed; inserting them one by one", batch.size(), ex);
+            batch.forEach(this::insertOne);
+        }
+    }
+
+    private void insertOne(OrderStatusChangedEvent e) {
+        try {
+            jdbc.update(INSERT, e.orderId(), e.from().name(), e.to().name(), OrderSql.timestamp(e.changedAt()));
+        } catch (RuntimeException ex) {
+            log.error("Could not record status change {} -> {} of order {}; it is lost",
+                    e.from(), e.to(), e.orderId(), ex);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sinik.orderapimanagement.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind for {@code order_status_history}: changes are queued and inserted in one JDBC
+ * batch once {@code batchSize} are waiting or {@code maxDelay} has passed since the first one.
+ */
+@ConfigurationProperties(prefix = "order.history")
+public record StatusHistoryProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration maxDelay,
+        @DefaultValue("100000") int queueCapacity
+) {}
@@ -0,0 +1,47 @@
+package com.sinik.orderapimanagement.monitoring;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Warns when a request issues more SQL statements than its endpoint class allows.
+ * Catches N+1 selects and redundant reloads without turning on SQL logging.
+ */
+@Component
+@ConditionalOnProperty(name = "sql-budget.enabled", havingValue = "true")
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final SqlBudgetProperties props;
+
+    public SqlBudgetFilter(SqlBudgetProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EndpointClass endpointClass = EndpointClass.of(request);
+            int budget = props.budgetFor(endpointClass);
+            int used = SqlStatementCounter.current();
+            if (used > budget) {
+                log.warn("SQL budget exceeded method={} path={} class={} statements={} budget={}",
+                        request.getMethod(), request.getRequestURI(), endpointClass, used, budget);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sinik.orderapimanagement.monitoring;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Maximum number of SQL statements a single request of each endpoint class may issue
+ * before {@link SqlBudgetFilter} logs a warning.
+ */
+@ConfigurationProperties(prefix = "sql-budget")
+public record SqlBudgetProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1") int pointRead,
+        @DefaultValue("2") int search,
+        @DefaultValue("2") int write
+) {
+    public int budgetFor(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case POINT_READ -> pointRead;
+            case SEARCH -> search;
+            case WRITE -> write;
+            case OTHER -> Integer.MAX_VALUE;
+        };
+    }
+}
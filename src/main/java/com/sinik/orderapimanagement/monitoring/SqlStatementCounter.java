@@ -0,0 +1,40 @@
+package com.sinik.orderapimanagement.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate {@link StatementInspector} that counts every SQL statement Hibernate prepares.
+ *
+ * Hibernate instantiates this class itself (see {@code hibernate.session_factory.statement_inspector}),
+ * so the counters are static: one per thread for per-request budgets, plus a global total.
+ * Statements issued outside Hibernate (e.g. JdbcTemplate) are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final LongAdder TOTAL = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT.get()[0]++;
+        TOTAL.increment();
+        return sql;
+    }
+
+    /** Resets the counter for the calling thread. */
+    public static void reset() {
+        CURRENT.get()[0] = 0;
+    }
+
+    /** Statements issued by the calling thread since the last {@link #reset()}. */
+    public static int current() {
+        return CURRENT.get()[0];
+    }
+
+    /** Statements issued by all threads since startup. */
+    public static long total() {
+        return TOTAL.sum();
+    }
+}
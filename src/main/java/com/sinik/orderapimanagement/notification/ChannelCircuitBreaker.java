@@ -0,0 +1,139 @@
+package com.sinik.orderapimanagement.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker for one notification channel.
+ *
+ * Keeps the outcome of the last {@code windowSize} calls. Once at least {@code minimumCalls} are
+ * recorded and the failure rate or slow-call rate reaches its threshold, the breaker opens and
+ * refuses calls for {@code openDuration}. It then lets {@code halfOpenCalls} probes through: if all
+ * of them succeed in time it closes, otherwise it opens again.
+ */
+public class ChannelCircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(ChannelCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String channel;
+    private final NotificationProperties.Breaker config;
+    private final long slowCallNanos;
+
+    // ring buffer of the last windowSize outcomes
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public ChannelCircuitBreaker(String channel, NotificationProperties.Breaker config) {
+        this.channel = channel;
+        this.config = config;
+        this.slowCallNanos = config.slowCallThreshold().toNanos();
+        this.failed = new boolean[config.windowSize()];
+        this.slow = new boolean[config.windowSize()];
+    }
+
+    /** Asks to make one call; every granted call must be followed by exactly one onSuccess/onFailure/release. */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < config.openDuration().toNanos()) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                // fall through to hand out the first probe
+            case HALF_OPEN:
+            default:
+                if (probesStarted >= config.halfOpenCalls()) {
+                    return false;
+                }
+                probesStarted++;
+                return true;
+        }
+    }
+
+    /** Gives back a permission that was granted but not used. */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    public synchronized void onFailure(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure, long durationNanos) {
+        boolean slowCall = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure || slowCall) {
+                transition(State.OPEN);
+            } else if (++probesSucceeded >= config.halfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // a call that started before the breaker opened
+        }
+
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failures += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+
+        if (recorded >= config.minimumCalls()
+                && (failures * 100.0 / recorded >= config.failureRateThreshold()
+                || slowCalls * 100.0 / recorded >= config.slowCallRateThreshold())) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State to) {
+        log.warn("Notification channel '{}' circuit {} -> {} (window: {} calls, {} failed, {} slow)",
+                channel, state, to, recorded, failures, slowCalls);
+        state = to;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (to == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (to == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    static NotificationProperties.Breaker defaults() {
+        return new NotificationProperties.Breaker(20, 10, 50, Duration.ofSeconds(5), 80,
+                Duration.ofSeconds(30), 3, 10_000, Duration.ofSeconds(1));
+    }
+}
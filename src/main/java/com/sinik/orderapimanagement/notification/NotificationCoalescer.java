@@ -0,0 +1,105 @@
+package com.sinik.orderapimanagement.notification;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional stage in front of {@link OrderedNotificationDispatcher} that merges bursts of events
+ * for the same order. The first event of an order opens a window; everything that arrives for that
+ * order before the window closes goes out as one notification, so no event is delayed by more
+ * than the window. A quick CREATED -> COMPLETED becomes a single ORDER_CREATED with the final status.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.coalescing.enabled", havingValue = "true")
+public class NotificationCoalescer implements DisposableBean {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(1);
+    private static final int DEFAULT_MAX_PENDING_ORDERS = 100_000;
+
+    private final OrderedNotificationDispatcher dispatcher;
+    private final long windowMillis;
+    private final int maxPendingOrders;
+    private final ConcurrentMap<UUID, List<NotificationMessage>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "notify-coalescer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public NotificationCoalescer(OrderedNotificationDispatcher dispatcher, NotificationProperties props) {
+        this.dispatcher = dispatcher;
+        NotificationProperties.Coalescing c = props.coalescing();
+        this.windowMillis = (c.window() != null ? c.window() : DEFAULT_WINDOW).toMillis();
+        this.maxPendingOrders = c.maxPendingOrders() > 0 ? c.maxPendingOrders() : DEFAULT_MAX_PENDING_ORDERS;
+    }
+
+    public void submit(UUID orderId, NotificationMessage message) {
+        if (pending.size() >= maxPendingOrders && !pending.containsKey(orderId)) {
+            // Bound memory under extreme bursts: new orders skip coalescing.
+            dispatcher.dispatch(orderId, message);
+            return;
+        }
+        pending.compute(orderId, (id, messages) -> {
+            if (messages == null) {
+                messages = new ArrayList<>(2);
+                timer.schedule(() -> flush(id), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            messages.add(message);
+            return messages;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        pending.keySet().forEach(this::flush);
+    }
+
+    private void flush(UUID orderId) {
+        List<NotificationMessage> messages = pending.remove(orderId);
+        if (messages != null) {
+            dispatcher.dispatch(orderId, combine(orderId, messages));
+        }
+    }
+
+    static NotificationMessage combine(UUID orderId, List<NotificationMessage> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+        NotificationMessage first = messages.get(0);
+        NotificationMessage last = messages.get(messages.size() - 1);
+        List<String> types = messages.stream().map(NotificationMessage::type).toList();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", orderId);
+        if ("ORDER_CREATED".equals(first.type())) {
+            payload.put("status", finalStatus(messages));
+        } else {
+            payload.put("from", first.payload().get("from"));
+            payload.put("to", finalStatus(messages));
+        }
+        payload.put("coalesced", types);
+        return new NotificationMessage(first.type(), last.occurredAt(), payload, last.sequence());
+    }
+
+    private static Object finalStatus(List<NotificationMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            Object to = messages.get(i).payload().get("to");
+            if (to != null) return to;
+        }
+        return "CREATED";
+    }
+}
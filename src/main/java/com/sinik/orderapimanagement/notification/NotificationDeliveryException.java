@@ -0,0 +1,8 @@
+package com.sinik.orderapimanagement.notification;
+
+/** A channel gave up on a message (e.g. after exhausting its retries). */
+public class NotificationDeliveryException extends RuntimeException {
+    public NotificationDeliveryException(String channel, String reason, Throwable cause) {
+        super("Notification channel '" + channel + "' failed: " + reason, cause);
+    }
+}
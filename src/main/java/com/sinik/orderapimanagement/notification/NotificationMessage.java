@@ -1,10 +1,26 @@
 package com.sinik.orderapimanagement.notification;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 
 public record NotificationMessage(
         String type,        // ORDER_CREATED / ORDER_STATUS_CHANGED
         Instant occurredAt,
-        Map<String, Object> payload
-) {}
+        Map<String, Object> payload,
+        long sequence       // per-order, only ever increases: see sequenceOf; 0 if unknown
+) {
+    public NotificationMessage(String type, Instant occurredAt, Map<String, Object> payload) {
+        this(type, occurredAt, payload, 0);
+    }
+
+    /**
+     * The sequence of the event that left an order at {@code updatedAt}: that instant in epoch
+     * microseconds, the precision the orders table keeps. Every change moves {@code updatedAt}
+     * forward, so the number grows with each event of the order, across restarts and instances.
+     * It has gaps, so it tells a receiver about duplicates and reordering, not about lost events.
+     */
+    public static long sequenceOf(Instant updatedAt) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+    }
+}
@@ -2,12 +2,36 @@ package com.sinik.orderapimanagement.notification;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.List;
 
 @ConfigurationProperties(prefix = "notification")
-public record NotificationProperties(List<String> enabledChannels, Webhook webhook, Retry retry, Email email, Sms sms) {
+public record NotificationProperties(List<String> enabledChannels, Webhook webhook, Retry retry, Email email, Sms sms,
+                                     Dispatch dispatch, Coalescing coalescing, Replay replay,
+                                     Breaker breaker, Bulkhead bulkhead) {
     public record Webhook(String baseUrl, String path) {}
     public record Retry(int maxAttempts, long initialDelayMs, double multiplier) {}
     public record Email(String to, String from) {}
     public record Sms(String to, String from) {}
+    /**
+     * stripes: threads delivering notifications, one order always on the same one; 0 = one per core.
+     * queueCapacity is per stripe; overflowPolicy applies once it is full.
+     */
+    public record Dispatch(int stripes, int queueCapacity, OverflowPolicy overflowPolicy, String spillDirectory) {}
+    /** Holds an order's events for up to {@code window} and sends them as one notification. */
+    public record Coalescing(boolean enabled, Duration window, int maxPendingOrders) {}
+    /**
+     * Per-channel circuit breaker over the last {@code windowSize} calls; rates are percentages.
+     * While open, messages wait in a deferred queue of {@code deferredCapacity}, drained every {@code drainInterval}.
+     */
+    public record Breaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallThreshold,
+                          double slowCallRateThreshold, Duration openDuration, int halfOpenCalls,
+                          int deferredCapacity, Duration drainInterval) {}
+    /** At most {@code maxConcurrentCalls} sends per channel; callers wait up to {@code maxWait} for a slot. */
+    public record Bulkhead(int maxConcurrentCalls, Duration maxWait) {}
+    /**
+     * Dead-letter replay: at most {@code ratePerSecond} sends, {@code concurrency} in flight. A claimed
+     * batch is reserved for this instance for {@code claimTtl}, then free again if it was not finished.
+     */
+    public record Replay(double ratePerSecond, int batchSize, int concurrency, Duration claimTtl) {}
 }
@@ -1,37 +1,251 @@
 package com.sinik.orderapimanagement.notification;
 
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * Sends notifications to the enabled channels, each behind its own circuit breaker and bulkhead.
+ *
+ * While a channel's breaker is open (or its bulkhead is full) messages for it go to a bounded
+ * deferred queue instead of spending retries on a receiver that is down. The queue is drained in
+ * order once the breaker lets calls through again; until it is empty and its last message has
+ * been sent, new messages queue behind it, so none overtakes an older one. Messages that do not
+ * fit are dead-lettered.
+ *
+ * Draining runs on the router's own thread: every {@code drainInterval}, and right away when a
+ * message is deferred while the breaker is not open (bulkhead full, or queued behind a backlog).
+ * It never occupies the shared {@code @Scheduled} thread with blocking sends.
+ */
 @Service
-public class NotificationRouter {
+public class NotificationRouter implements DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(NotificationRouter.class);
 
     private final NotificationProperties props;
-    private final Map<String, NotificationChannel> channelsByName;
+    private final Map<String, GuardedChannel> channelsByName;
+    private final DeadLetterStore deadLetters;
+    private final ScheduledExecutorService drainer;
 
-    public NotificationRouter(NotificationProperties props, List<NotificationChannel> channels) {
+    public NotificationRouter(NotificationProperties props, List<NotificationChannel> channels,
+                              DeadLetterStore deadLetters) {
         this.props = props;
+        NotificationProperties.Breaker breaker = props.breaker() != null ? props.breaker() : ChannelCircuitBreaker.defaults();
+        NotificationProperties.Bulkhead bulkhead = props.bulkhead() != null
+                ? props.bulkhead() : new NotificationProperties.Bulkhead(10, Duration.ZERO);
         this.channelsByName = channels.stream()
-                .collect(Collectors.toMap(NotificationChannel::name, c -> c));
+                .collect(Collectors.toMap(NotificationChannel::name, c -> new GuardedChannel(c, breaker, bulkhead)));
+        this.deadLetters = deadLetters;
+
+        this.drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notify-drain");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = (breaker.drainInterval() != null ? breaker.drainInterval() : Duration.ofSeconds(1)).toMillis();
+        drainer.scheduleWithFixedDelay(this::drainQuietly, interval, interval, TimeUnit.MILLISECONDS);
     }
 
     public void notifyAllEnabled(NotificationMessage message) {
         for (String channelName : props.enabledChannels()) {
-            NotificationChannel channel = channelsByName.get(channelName);
+            GuardedChannel channel = channelsByName.get(channelName);
             if (channel == null) {
                 log.warn("Notification channel '{}' is enabled but no bean exists", channelName);
                 continue;
             }
+            // backlog covers deferred messages and the one being drained: a direct send must not overtake them
+            if (channel.backlog.get() > 0 || !channel.tryAcquire()) {
+                defer(channel, message);
+                continue;
+            }
+            sendAndDeadLetterOnFailure(channel, message);
+        }
+    }
+
+    /** Dead-letters a message that was never attempted, once for every enabled channel. */
+    public void deadLetterAllEnabled(NotificationMessage message, Throwable reason) {
+        for (String channelName : props.enabledChannels()) {
+            if (channelsByName.containsKey(channelName)) {
+                deadLetters.record(channelName, message, reason);
+            }
+        }
+    }
+
+    /** Sends to one channel and lets failures propagate, including an open circuit; used when replaying dead letters. */
+    public void deliver(String channelName, NotificationMessage message) {
+        GuardedChannel channel = channelsByName.get(channelName);
+        if (channel == null) {
+            throw new IllegalArgumentException("Unknown notification channel: " + channelName);
+        }
+        if (!channel.tryAcquire()) {
+            throw new NotificationDeliveryException(channelName, "circuit open or bulkhead full", null);
+        }
+        channel.send(message);
+    }
+
+    public ChannelCircuitBreaker.State circuitState(String channelName) {
+        GuardedChannel channel = channelsByName.get(channelName);
+        return channel != null ? channel.breaker.state() : null;
+    }
+
+    public int deferredCount(String channelName) {
+        GuardedChannel channel = channelsByName.get(channelName);
+        return channel != null ? channel.deferred.size() : 0;
+    }
+
+    /** Sends deferred messages in order for every channel whose breaker lets calls through again. */
+    public void drainDeferred() {
+        for (GuardedChannel channel : channelsByName.values()) {
+            drain(channel);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        drainer.shutdownNow();
+        for (GuardedChannel channel : channelsByName.values()) {
+            NotificationMessage message;
+            while ((message = channel.deferred.pollFirst()) != null) {
+                channel.backlog.decrementAndGet();
+                deadLetters.record(channel.name(), message,
+                        new NotificationDeliveryException(channel.name(), "deferred at shutdown", null));
+            }
+        }
+    }
+
+    private void sendAndDeadLetterOnFailure(GuardedChannel channel, NotificationMessage message) {
+        try {
+            channel.send(message);
+        } catch (Exception ex) {
+            log.error("Notification channel '{}' failed", channel.name(), ex);
+            deadLetters.record(channel.name(), message, ex);
+        }
+    }
+
+    private void defer(GuardedChannel channel, NotificationMessage message) {
+        channel.backlog.incrementAndGet();
+        if (!channel.deferred.offerLast(message)) {
+            channel.backlog.decrementAndGet();
+            deadLetters.record(channel.name(), message,
+                    new NotificationDeliveryException(channel.name(), "circuit open and deferred queue full", null));
+            return;
+        }
+        // an open breaker will not let anything through before the next tick anyway
+        if (channel.breaker.state() != ChannelCircuitBreaker.State.OPEN
+                && channel.drainQueued.compareAndSet(false, true)) {
+            try {
+                drainer.execute(() -> {
+                    channel.drainQueued.set(false);
+                    drainQuietly(channel);
+                });
+            } catch (RejectedExecutionException ex) {
+                channel.drainQueued.set(false); // shutting down; destroy() dead-letters what is left
+            }
+        }
+    }
+
+    private void drain(GuardedChannel channel) {
+        synchronized (channel.drainLock) {
+            while (channel.deferred.peekFirst() != null && channel.tryAcquire()) {
+                NotificationMessage message = channel.deferred.pollFirst();
+                if (message == null) {
+                    channel.releaseUnused(); // emptied by destroy() meanwhile
+                    return;
+                }
+                try {
+                    sendAndDeadLetterOnFailure(channel, message);
+                } finally {
+                    channel.backlog.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void drainQuietly() {
+        for (GuardedChannel channel : channelsByName.values()) {
+            drainQuietly(channel);
+        }
+    }
+
+    private void drainQuietly(GuardedChannel channel) {
+        try {
+            drain(channel);
+        } catch (RuntimeException ex) {
+            // an escaping exception would cancel every later scheduled drain
+            log.error("Draining deferred notifications of channel '{}' failed", channel.name(), ex);
+        }
+    }
+
+    private static final class GuardedChannel {
+        final NotificationChannel channel;
+        final ChannelCircuitBreaker breaker;
+        final Semaphore bulkhead;
+        final long bulkheadWaitNanos;
+        final BlockingDeque<NotificationMessage> deferred;
+        final AtomicInteger backlog = new AtomicInteger(); // deferred plus the one being drained
+        final AtomicBoolean drainQueued = new AtomicBoolean();
+        final Object drainLock = new Object();
+
+        GuardedChannel(NotificationChannel channel, NotificationProperties.Breaker breaker,
+                       NotificationProperties.Bulkhead bulkhead) {
+            this.channel = channel;
+            this.breaker = new ChannelCircuitBreaker(channel.name(), breaker);
+            this.bulkhead = new Semaphore(bulkhead.maxConcurrentCalls());
+            this.bulkheadWaitNanos = bulkhead.maxWait() != null ? bulkhead.maxWait().toNanos() : 0;
+            this.deferred = new LinkedBlockingDeque<>(breaker.deferredCapacity());
+        }
+
+        String name() {
+            return channel.name();
+        }
+
+        /** Takes a bulkhead slot and a breaker permission; on success {@link #send} or {@link #releaseUnused} must follow. */
+        boolean tryAcquire() {
+            try {
+                if (!bulkhead.tryAcquire(bulkheadWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (!breaker.tryAcquire()) {
+                bulkhead.release();
+                return false;
+            }
+            return true;
+        }
+
+        void releaseUnused() {
+            breaker.release();
+            bulkhead.release();
+        }
+
+        void send(NotificationMessage message) {
+            long start = System.nanoTime();
             try {
                 channel.send(message);
-            } catch (Exception ex) {
-                log.error("Notification channel '{}' failed", channelName, ex);
+                breaker.onSuccess(System.nanoTime() - start);
+            } catch (RuntimeException ex) {
+                breaker.onFailure(System.nanoTime() - start);
+                throw ex;
+            } finally {
+                bulkhead.release();
             }
         }
     }
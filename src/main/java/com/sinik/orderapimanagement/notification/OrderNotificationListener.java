@@ -2,43 +2,59 @@ package com.sinik.orderapimanagement.notification;
 
 import com.sinik.orderapimanagement.notification.event.OrderCreatedEvent;
 import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Runs on the committing thread and only hands the message to the dispatcher (through the
+ * coalescer when enabled), which keeps the notifications of one order in commit order.
+ */
 @Component
 public class OrderNotificationListener {
 
-    private final NotificationRouter router;
+    private final OrderedNotificationDispatcher dispatcher;
+    private final NotificationCoalescer coalescer;
 
-    public OrderNotificationListener(NotificationRouter router) {
-        this.router = router;
+    public OrderNotificationListener(OrderedNotificationDispatcher dispatcher,
+                                     ObjectProvider<NotificationCoalescer> coalescer) {
+        this.dispatcher = dispatcher;
+        this.coalescer = coalescer.getIfAvailable();
     }
 
-    @Async
-    @TransactionalEventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onOrderCreated(OrderCreatedEvent e) {
-        router.notifyAllEnabled(new NotificationMessage(
+        send(e.orderId(), new NotificationMessage(
                 "ORDER_CREATED",
                 Instant.now(),
-                Map.of("orderId", e.orderId())
+                Map.of("orderId", e.orderId()),
+                NotificationMessage.sequenceOf(e.createdAt())
         ));
     }
 
-    @Async
-    @TransactionalEventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onOrderStatusChanged(OrderStatusChangedEvent e) {
-        router.notifyAllEnabled(new NotificationMessage(
+        send(e.orderId(), new NotificationMessage(
                 "ORDER_STATUS_CHANGED",
                 Instant.now(),
                 Map.of(
                         "orderId", e.orderId(),
                         "from", e.from().name(),
                         "to", e.to().name()
-                )
+                ),
+                NotificationMessage.sequenceOf(e.changedAt())
         ));
     }
+
+    private void send(UUID orderId, NotificationMessage message) {
+        if (coalescer != null) {
+            coalescer.submit(orderId, message);
+        } else {
+            dispatcher.dispatch(orderId, message);
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package com.sinik.orderapimanagement.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers notifications in order per order id and in parallel across orders.
+ *
+ * Each order id hashes to one of N single-threaded stripes, so its events are sent in the order
+ * they were dispatched, while different orders spread over all stripes. Messages arrive with
+ * their per-order sequence already set from the order's persisted state (see
+ * {@link NotificationMessage#sequenceOf}), so the dispatcher keeps no per-order state.
+ *
+ * Stripe queues are bounded; when one is full the configured {@link OverflowPolicy} decides
+ * what happens, so a slow channel cannot grow the heap without limit.
+ */
+@Component
+public class OrderedNotificationDispatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(OrderedNotificationDispatcher.class);
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final NotificationRouter router;
+    private final OverflowPolicy policy;
+    private final Stripe[] stripes;
+    private final Counter rejected;
+
+    public OrderedNotificationDispatcher(NotificationRouter router, NotificationProperties props,
+                                         ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.router = router;
+        NotificationProperties.Dispatch dispatch = props.dispatch();
+        int configured = dispatch != null ? dispatch.stripes() : 0;
+        int count = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        int capacity = dispatch != null && dispatch.queueCapacity() > 0 ? dispatch.queueCapacity() : DEFAULT_QUEUE_CAPACITY;
+        this.policy = dispatch != null && dispatch.overflowPolicy() != null ? dispatch.overflowPolicy() : OverflowPolicy.BLOCK;
+
+        Path spillDirectory = null;
+        if (policy == OverflowPolicy.SPILL_TO_DISK) {
+            spillDirectory = Path.of(dispatch.spillDirectory() != null ? dispatch.spillDirectory() : "./data/notification-spill");
+            try {
+                Files.createDirectories(spillDirectory);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot create notification spill directory " + spillDirectory, ex);
+            }
+        }
+
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            SpillFile spill = spillDirectory != null
+                    ? new SpillFile(spillDirectory.resolve("stripe-" + i + ".spill"), objectMapper)
+                    : null;
+            stripes[i] = new Stripe(i, capacity, spill);
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("notification.dispatch.queue.depth", this, OrderedNotificationDispatcher::queueDepth)
+                .description("Notifications waiting in stripe queues")
+                .register(registry);
+        Gauge.builder("notification.dispatch.spilled", this, OrderedNotificationDispatcher::spilled)
+                .description("Notifications waiting in spill files")
+                .register(registry);
+        this.rejected = Counter.builder("notification.dispatch.rejected")
+                .description("Notifications that found their stripe queue full")
+                .tag("policy", policy.name())
+                .register(registry);
+    }
+
+    public void dispatch(UUID orderId, NotificationMessage message) {
+        Stripe stripe = stripes[Math.floorMod(orderId.hashCode(), stripes.length)];
+        stripe.submit(new Delivery(stripe, orderId, message));
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (Stripe stripe : stripes) {
+            depth += stripe.executor.getQueue().size();
+        }
+        return depth;
+    }
+
+    public long spilled() {
+        long spilled = 0;
+        for (Stripe stripe : stripes) {
+            spilled += stripe.spilled();
+        }
+        return spilled;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Stripe stripe : stripes) {
+            stripe.executor.shutdown();
+        }
+        for (Stripe stripe : stripes) {
+            if (!stripe.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Notification stripe did not drain in time; pending notifications dropped");
+                stripe.executor.shutdownNow();
+            }
+            stripe.closeSpill();
+        }
+    }
+
+    private final class Delivery implements Runnable {
+        final Stripe stripe;
+        final UUID orderId;
+        final NotificationMessage message;
+
+        Delivery(Stripe stripe, UUID orderId, NotificationMessage message) {
+            this.stripe = stripe;
+            this.orderId = orderId;
+            this.message = message;
+        }
+
+        @Override
+        public void run() {
+            try {
+                router.notifyAllEnabled(message);
+            } finally {
+                stripe.refillFromSpill();
+            }
+        }
+    }
+
+    /** Queue full under BLOCK: wait for room, so the delivery stays behind everything queued before it. */
+    private static final class WaitForRoom implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Notification dispatcher is shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the notification queue", ex);
+            }
+        }
+    }
+
+    /** Queue full under DROP_OLDEST: the oldest queued delivery is dead-lettered to make room. */
+    private final class DropOldest implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            while (!executor.isShutdown() && !executor.getQueue().offer(task)) {
+                if (executor.getQueue().poll() instanceof Delivery dropped) {
+                    log.warn("Notification queue full; dead-lettering {} for order {}", dropped.message.type(), dropped.orderId);
+                    router.deadLetterAllEnabled(dropped.message, new RejectedExecutionException("Dropped: notification queue full"));
+                }
+            }
+        }
+    }
+
+    private final class Stripe {
+        final ThreadPoolExecutor executor;
+        final int capacity;
+        final SpillFile spill; // null unless SPILL_TO_DISK; guarded by this
+
+        Stripe(int index, int capacity, SpillFile spill) {
+            this.capacity = capacity;
+            this.spill = spill;
+            RejectedExecutionHandler onFull = switch (policy) {
+                case BLOCK -> new WaitForRoom();
+                case DROP_OLDEST -> new DropOldest();
+                case CALLER_RUNS, SPILL_TO_DISK -> new ThreadPoolExecutor.CallerRunsPolicy();
+            };
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), r -> {
+                        Thread t = new Thread(r, "notify-stripe-" + index);
+                        t.setDaemon(true);
+                        return t;
+                    }, (task, executor) -> {
+                        rejected.increment();
+                        onFull.rejectedExecution(task, executor);
+                    });
+            this.executor.prestartCoreThread();
+            refillFromSpill(); // leftovers from a previous run
+        }
+
+        void submit(Delivery delivery) {
+            if (spill == null) {
+                executor.execute(delivery);
+                return;
+            }
+            synchronized (this) {
+                // once anything is on disk, newer deliveries queue behind it to keep per-order order
+                if (spill.isEmpty() && executor.getQueue().offer(delivery)) {
+                    return;
+                }
+                rejected.increment();
+                spill.append(delivery.orderId, delivery.message);
+            }
+        }
+
+        /** Called by the stripe thread after each delivery: moves spilled work back once half the queue is free. */
+        void refillFromSpill() {
+            if (spill == null) {
+                return;
+            }
+            synchronized (this) {
+                int room = executor.getQueue().remainingCapacity();
+                if (spill.isEmpty() || room < capacity / 2) {
+                    return;
+                }
+                for (SpillFile.Spilled spilled : spill.read(room)) {
+                    executor.getQueue().offer(new Delivery(this, spilled.orderId(), spilled.message()));
+                }
+            }
+        }
+
+        synchronized long spilled() {
+            return spill != null ? spill.pending() : 0;
+        }
+
+        synchronized void closeSpill() {
+            if (spill == null) {
+                return;
+            }
+            if (!spill.isEmpty()) {
+                log.warn("{} spilled notifications were not delivered before shutdown", spill.pending());
+            }
+            try {
+                spill.close();
+            } catch (IOException ex) {
+                log.warn("Could not close notification spill file", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sinik.orderapimanagement.notification;
+
+/** What the notification dispatcher does when a stripe's queue is full. */
+public enum OverflowPolicy {
+    /**
+     * Make the committing thread wait until the stripe has room. Slows producers down to the
+     * delivery rate and keeps per-order order; the default.
+     */
+    BLOCK,
+    /**
+     * Run the delivery on the committing thread. Slows producers down to the delivery rate,
+     * but that delivery may overtake older queued events of the same order. Opt-in only.
+     */
+    CALLER_RUNS,
+    /** Drop the oldest queued notification into the dead-letter store and queue the new one. */
+    DROP_OLDEST,
+    /** Append to a per-stripe file and feed it back in order as the queue drains. */
+    SPILL_TO_DISK
+}
@@ -0,0 +1,114 @@
+package com.sinik.orderapimanagement.notification;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only overflow file for one dispatcher stripe: length-prefixed JSON records, read back
+ * in the order they were written. Records still in the file at startup are delivered again.
+ * Not thread-safe; the owning stripe synchronises access.
+ */
+final class SpillFile {
+
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    private long readPosition;
+    private long writePosition;
+    private long pending;
+
+    SpillFile(Path file, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open notification spill file " + file, ex);
+        }
+    }
+
+    /** Picks up records left by a previous run; a torn last record is cut off. */
+    private void recover() throws IOException {
+        long size = channel.size();
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (writePosition + 4 <= size) {
+            length.clear();
+            channel.read(length, writePosition);
+            long next = writePosition + 4 + length.flip().getInt();
+            if (next > size) {
+                break;
+            }
+            writePosition = next;
+            pending++;
+        }
+        channel.truncate(writePosition);
+    }
+
+    void append(UUID orderId, NotificationMessage message) {
+        byte[] json = objectMapper.writeValueAsBytes(
+                new Spilled(orderId, message.type(), message.occurredAt(), message.payload(), message.sequence()));
+        ByteBuffer buffer = ByteBuffer.allocate(4 + json.length).putInt(json.length).put(json).flip();
+        try {
+            while (buffer.hasRemaining()) {
+                writePosition += channel.write(buffer, writePosition);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot spill notification", ex);
+        }
+        pending++;
+    }
+
+    /** Reads up to {@code max} records; once everything is read the file is truncated for reuse. */
+    List<Spilled> read(int max) {
+        List<Spilled> result = new ArrayList<>(Math.min(max, (int) Math.min(pending, Integer.MAX_VALUE)));
+        try {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            while (result.size() < max && readPosition < writePosition) {
+                length.clear();
+                channel.read(length, readPosition);
+                byte[] json = new byte[length.flip().getInt()];
+                channel.read(ByteBuffer.wrap(json), readPosition + 4);
+                readPosition += 4 + json.length;
+                result.add(objectMapper.readValue(json, Spilled.class));
+            }
+            pending -= result.size();
+            if (readPosition == writePosition) {
+                channel.truncate(0);
+                readPosition = 0;
+                writePosition = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read spilled notifications", ex);
+        }
+        return result;
+    }
+
+    long pending() {
+        return pending;
+    }
+
+    boolean isEmpty() {
+        return pending == 0;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    record Spilled(UUID orderId, String type, Instant occurredAt, Map<String, Object> payload, long sequence) {
+        NotificationMessage message() {
+            return new NotificationMessage(type, occurredAt, payload, sequence);
+        }
+    }
+}
@@ -49,17 +49,18 @@ public class WebhookNotificationChannel implements NotificationChannel {
                 .toBodilessEntity();
     }
 
+    // Rethrow after the retries so NotificationRouter can dead-letter the message.
     @Recover
     public void recover(RestClientResponseException ex, NotificationMessage message) {
         log.warn("Webhook notification failed after retries (HTTP {}). type={} payload={}",
                 ex.getStatusCode(), message.type(), message.payload());
-        log.debug("Final webhook failure stacktrace", ex);
+        throw new NotificationDeliveryException(name(), "HTTP " + ex.getStatusCode().value(), ex);
     }
 
     @Recover
     public void recover(ResourceAccessException ex, NotificationMessage message) {
         log.warn("Webhook notification failed after retries (connectivity). type={} payload={}",
                 message.type(), message.payload());
-        log.debug("Final webhook failure stacktrace", ex);
+        throw new NotificationDeliveryException(name(), "connectivity", ex);
     }
 }
@@ -0,0 +1,79 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/** A notification a channel gave up on, kept until it is replayed successfully. */
+@Entity
+@Table(name = "notification_dead_letter")
+public class DeadLetter {
+
+    // sequential, so replay can walk the table in keyset order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String channel;
+
+    @Column(nullable = false)
+    private String type;
+
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    private long sequence;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant failedAt;
+
+    // set while a replay on some instance owns the letter; see DeadLetterStore.claimBatch
+    private String claimedBy;
+
+    private Instant claimedUntil;
+
+    protected DeadLetter() { }
+
+    public DeadLetter(String channel, String type, UUID orderId, Instant occurredAt, long sequence,
+                      String payload, String lastError) {
+        this.channel = channel;
+        this.type = type;
+        this.orderId = orderId;
+        this.occurredAt = occurredAt;
+        this.sequence = sequence;
+        this.payload = payload;
+        this.lastError = lastError;
+        this.attempts = 1;
+        this.failedAt = Instant.now();
+    }
+
+    void recordFailedAttempt(String error) {
+        this.attempts++;
+        this.lastError = error;
+        this.failedAt = Instant.now();
+    }
+
+    public Long getId() { return id; }
+    public String getChannel() { return channel; }
+    public String getType() { return type; }
+    public UUID getOrderId() { return orderId; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public long getSequence() { return sequence; }
+    public String getPayload() { return payload; }
+    public String getLastError() { return lastError; }
+    public int getAttempts() { return attempts; }
+    public Instant getFailedAt() { return failedAt; }
+    public String getClaimedBy() { return claimedBy; }
+    public Instant getClaimedUntil() { return claimedUntil; }
+}
@@ -0,0 +1,141 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.notification.NotificationRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-delivers dead letters through {@link NotificationRouter}, one replay at a time.
+ *
+ * Walks the table in id order in batches, up to the highest id present when the replay started.
+ * Each batch is claimed for this instance first, so replays started on several instances share
+ * the backlog without double sends. Sends are paced to a fixed rate and capped at a fixed number
+ * in flight, on their own threads, so a large backlog can neither flood the receiver nor starve
+ * live notifications. Delivered letters are deleted; failed ones stay with their attempt count
+ * bumped and stay claimed until the run ends, so no replay retries them in the same run.
+ */
+@Component
+public class DeadLetterReplayer implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayer.class);
+
+    private static final double DEFAULT_RATE_PER_SECOND = 50;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final Duration DEFAULT_CLAIM_TTL = Duration.ofMinutes(5);
+
+    private final DeadLetterStore store;
+    private final NotificationRouter router;
+    private final NotificationProperties.Replay defaults;
+    private final ExecutorService sends = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public DeadLetterReplayer(DeadLetterStore store, NotificationRouter router, NotificationProperties props) {
+        this.store = store;
+        this.router = router;
+        this.defaults = props.replay();
+    }
+
+    /** Starts a replay in the background. Null arguments fall back to {@code notification.replay.*}. */
+    public synchronized ReplayStatus start(Long limit, Double ratePerSecond) {
+        if (running) {
+            throw new ReplayAlreadyRunningException();
+        }
+        double rate = ratePerSecond != null && ratePerSecond > 0 ? ratePerSecond
+                : defaults != null && defaults.ratePerSecond() > 0 ? defaults.ratePerSecond() : DEFAULT_RATE_PER_SECOND;
+        int batchSize = defaults != null && defaults.batchSize() > 0 ? defaults.batchSize() : DEFAULT_BATCH_SIZE;
+        int concurrency = defaults != null && defaults.concurrency() > 0 ? defaults.concurrency() : DEFAULT_CONCURRENCY;
+        Duration claimTtl = defaults != null && defaults.claimTtl() != null ? defaults.claimTtl() : DEFAULT_CLAIM_TTL;
+        long max = limit != null && limit > 0 ? limit : Long.MAX_VALUE;
+
+        delivered.set(0);
+        failed.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+        running = true;
+
+        Thread.ofPlatform().name("dead-letter-replay").daemon().start(() -> {
+            try {
+                replay(max, rate, batchSize, concurrency, claimTtl);
+            } catch (RuntimeException ex) {
+                log.error("Dead-letter replay aborted", ex);
+            } finally {
+                finishedAt = Instant.now();
+                running = false;
+                log.info("Dead-letter replay finished delivered={} failed={}", delivered.get(), failed.get());
+            }
+        });
+        return status();
+    }
+
+    public ReplayStatus status() {
+        return new ReplayStatus(running, delivered.get(), failed.get(), startedAt, finishedAt);
+    }
+
+    @Override
+    public void destroy() {
+        sends.shutdownNow();
+    }
+
+    private void replay(long limit, double ratePerSecond, int batchSize, int concurrency, Duration claimTtl) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long nextSendAt = System.nanoTime();
+        long maxId = store.maxId();
+        long afterId = 0;
+        long submitted = 0;
+
+        while (submitted < limit) {
+            List<DeadLetter> batch = store.claimBatch(afterId, maxId, (int) Math.min(batchSize, limit - submitted), claimTtl);
+            if (batch.isEmpty()) break;
+
+            for (DeadLetter letter : batch) {
+                long wait = nextSendAt - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                nextSendAt = Math.max(nextSendAt, System.nanoTime() - intervalNanos) + intervalNanos;
+
+                inFlight.acquireUninterruptibly();
+                sends.execute(() -> {
+                    try {
+                        send(letter);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                submitted++;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        // wait for the last sends
+        inFlight.acquireUninterruptibly(concurrency);
+        inFlight.release(concurrency);
+        store.releaseClaims();
+    }
+
+    private void send(DeadLetter letter) {
+        try {
+            router.deliver(letter.getChannel(), store.toMessage(letter));
+            store.delivered(letter);
+            delivered.incrementAndGet();
+        } catch (RuntimeException ex) {
+            store.failedAgain(letter, ex);
+            failed.incrementAndGet();
+        }
+    }
+}
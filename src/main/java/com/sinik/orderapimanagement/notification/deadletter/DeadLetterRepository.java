@@ -0,0 +1,9 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+    @Query("select coalesce(max(d.id), 0) from DeadLetter d")
+    Long findMaxId();
+}
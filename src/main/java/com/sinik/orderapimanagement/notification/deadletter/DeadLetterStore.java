@@ -0,0 +1,124 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+import com.sinik.orderapimanagement.coordination.NodeIdentity;
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class DeadLetterStore {
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterStore.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DeadLetterRepository repo;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbc;
+    private final NodeIdentity node;
+
+    public DeadLetterStore(DeadLetterRepository repo, ObjectMapper objectMapper, JdbcTemplate jdbc, NodeIdentity node) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.jdbc = jdbc;
+        this.node = node;
+    }
+
+    /** Never throws: losing a dead letter is logged, but must not break notification delivery. */
+    public void record(String channel, NotificationMessage message, Throwable error) {
+        try {
+            Object orderId = message.payload().get("orderId");
+            repo.save(new DeadLetter(
+                    channel,
+                    message.type(),
+                    orderId != null ? UUID.fromString(orderId.toString()) : null,
+                    message.occurredAt(),
+                    message.sequence(),
+                    objectMapper.writeValueAsString(message.payload()),
+                    describe(error)
+            ));
+        } catch (RuntimeException ex) {
+            log.error("Could not dead-letter notification channel={} message={}", channel, message, ex);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DeadLetter> list(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    public long maxId() {
+        return repo.findMaxId();
+    }
+
+    /**
+     * Claims up to {@code size} unclaimed letters with {@code afterId < id <= maxId} for this instance,
+     * in id order. Rows another instance is claiming at the same moment are skipped rather than waited
+     * for, so concurrent replays on several instances split the table. A claim lapses after {@code ttl},
+     * which frees the letters of an instance that died mid-replay.
+     */
+    @Transactional
+    public List<DeadLetter> claimBatch(long afterId, long maxId, int size, Duration ttl) {
+        Instant now = Instant.now();
+        List<Long> ids = jdbc.queryForList(
+                "SELECT id FROM notification_dead_letter WHERE id > ? AND id <= ? "
+                        + "AND (claimed_until IS NULL OR claimed_until < ?) "
+                        + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, afterId, maxId, OrderSql.timestamp(now), size);
+        if (ids.isEmpty()) return List.of();
+
+        List<Object> args = new ArrayList<>(ids.size() + 2);
+        args.add(node.id());
+        args.add(OrderSql.timestamp(now.plus(ttl)));
+        args.addAll(ids);
+        jdbc.update("UPDATE notification_dead_letter SET claimed_by = ?, claimed_until = ? WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", args.toArray());
+
+        List<DeadLetter> claimed = new ArrayList<>(repo.findAllById(ids));
+        claimed.sort(Comparator.comparing(DeadLetter::getId));
+        return claimed;
+    }
+
+    public NotificationMessage toMessage(DeadLetter letter) {
+        Map<String, Object> payload = objectMapper.readValue(letter.getPayload(), PAYLOAD_TYPE);
+        return new NotificationMessage(letter.getType(), letter.getOccurredAt(), payload, letter.getSequence());
+    }
+
+    public void delivered(DeadLetter letter) {
+        repo.deleteById(letter.getId());
+    }
+
+    /** Keeps the claim, so no replay picks the letter up again until {@link #releaseClaims()}. */
+    @Transactional
+    public void failedAgain(DeadLetter letter, Throwable error) {
+        repo.findById(letter.getId()).ifPresent(d -> d.recordFailedAttempt(describe(error)));
+    }
+
+    /** Frees the letters this instance still holds, i.e. those that failed again, for the next replay. */
+    public int releaseClaims() {
+        return jdbc.update("UPDATE notification_dead_letter SET claimed_by = NULL, claimed_until = NULL "
+                + "WHERE claimed_by = ?", node.id());
+    }
+
+    private static String describe(Throwable error) {
+        String text = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text;
+    }
+}
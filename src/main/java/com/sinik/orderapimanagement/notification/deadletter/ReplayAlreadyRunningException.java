@@ -0,0 +1,7 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+public class ReplayAlreadyRunningException extends RuntimeException {
+    public ReplayAlreadyRunningException() {
+        super("A dead-letter replay is already running");
+    }
+}
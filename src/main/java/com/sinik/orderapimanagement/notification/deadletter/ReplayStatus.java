@@ -0,0 +1,11 @@
+package com.sinik.orderapimanagement.notification.deadletter;
+
+import java.time.Instant;
+
+public record ReplayStatus(
+        boolean running,
+        long delivered,
+        long failed,
+        Instant startedAt,
+        Instant finishedAt
+) {}
@@ -1,5 +1,7 @@
 package com.sinik.orderapimanagement.notification.event;
 
+import java.time.Instant;
 import java.util.UUID;
 
-public record OrderCreatedEvent(UUID orderId) {}
+/** {@code createdAt} is also the new order's first {@code updatedAt}. */
+public record OrderCreatedEvent(UUID orderId, Instant createdAt) {}
@@ -1,6 +1,9 @@
 package com.sinik.orderapimanagement.notification.event;
 
 import com.sinik.orderapimanagement.domain.OrderStatus;
+
+import java.time.Instant;
 import java.util.UUID;
 
-public record OrderStatusChangedEvent(UUID orderId, OrderStatus from, OrderStatus to) {}
+/** {@code changedAt} is the order's new {@code updatedAt}. */
+public record OrderStatusChangedEvent(UUID orderId, OrderStatus from, OrderStatus to, Instant changedAt) {}
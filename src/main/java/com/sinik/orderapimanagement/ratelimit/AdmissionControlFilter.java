@@ -0,0 +1,101 @@
+package com.sinik.orderapimanagement.ratelimit;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+import com.sinik.orderapimanagement.error.ApiError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits /orders requests per authenticated principal and sheds load once too many
+ * requests are in flight, answering {@code 429} or {@code 503} with {@code Retry-After}.
+ *
+ * Runs inside the security filter chain right after authentication (see SecurityConfig), so the
+ * principal is known. It is deliberately not a bean, which would also register it as a servlet filter.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final RateLimitProperties props;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketLimiter limiter;
+    private final Semaphore inFlight;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public AdmissionControlFilter(RateLimitProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.limiter = new TokenBucketLimiter(props.stripes(), props.maxClients());
+        this.inFlight = props.maxConcurrentRequests() > 0 ? new Semaphore(props.maxConcurrentRequests()) : null;
+        this.rateLimited = Counter.builder("http.admission.rejected").tag("reason", "rate-limit").register(meterRegistry);
+        this.shed = Counter.builder("http.admission.rejected").tag("reason", "overload").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        if (endpointClass == EndpointClass.OTHER) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        RateLimitProperties.Limit limit = props.limitFor(endpointClass);
+        if (limit != null && auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            long waitNanos = limiter.tryAcquire(auth.getName(), endpointClass, limit);
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                log.debug("Rate limited principal={} class={}", auth.getName(), endpointClass);
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                        "Rate limit exceeded", Map.of("endpointClass", endpointClass.name()));
+                return;
+            }
+        }
+
+        if (inFlight != null && !inFlight.tryAcquire()) {
+            shed.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Server is busy", null);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, long retryAfterNanos,
+                        String message, Map<String, Object> details) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        ApiError body = new ApiError(Instant.now(), status.value(), status.getReasonPhrase(), message,
+                request.getRequestURI(), details);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
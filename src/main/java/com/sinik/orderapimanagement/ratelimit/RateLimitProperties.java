@@ -0,0 +1,33 @@
+package com.sinik.orderapimanagement.ratelimit;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Admission control for /orders: a token bucket per principal and endpoint class, plus a cap on
+ * requests in flight across all clients. A missing limit means that class is not rate limited;
+ * {@code maxConcurrentRequests} of 0 disables the global cap.
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") int maxConcurrentRequests,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("10000") int maxClients,
+        Limit write,
+        Limit pointRead,
+        Limit search
+) {
+    /** Refills {@code ratePerSecond} tokens per second up to {@code burst}; each request takes one. */
+    public record Limit(double ratePerSecond, int burst) {}
+
+    public Limit limitFor(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case POINT_READ -> pointRead;
+            case SEARCH -> search;
+            case WRITE -> write;
+            case OTHER -> null;
+        };
+    }
+}
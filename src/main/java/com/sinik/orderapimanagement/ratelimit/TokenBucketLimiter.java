@@ -0,0 +1,77 @@
+package com.sinik.orderapimanagement.ratelimit;
+
+import com.sinik.orderapimanagement.api.EndpointClass;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets keyed by principal, one per endpoint class.
+ *
+ * Principals hash onto a fixed set of stripes, each with its own lock and LRU map, so clients
+ * rarely contend with each other and the number of tracked clients stays bounded. A bucket is
+ * allocated the first time a principal is seen; after that a check allocates nothing.
+ */
+class TokenBucketLimiter {
+    private static final int CLASSES = EndpointClass.values().length;
+
+    private final Stripe[] stripes;
+
+    TokenBucketLimiter(int stripeCount, int maxClients) {
+        int count = Math.max(1, stripeCount);
+        int perStripe = Math.max(1, maxClients / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /** Takes a token if one is available; otherwise returns how many nanoseconds until one will be. */
+    long tryAcquire(String principal, EndpointClass endpointClass, RateLimitProperties.Limit limit) {
+        Stripe stripe = stripes[Math.floorMod(principal.hashCode(), stripes.length)];
+        int i = endpointClass.ordinal();
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(principal);
+            if (bucket == null) {
+                bucket = new Bucket();
+                stripe.put(principal, bucket);
+            }
+            double elapsedSeconds = (now - bucket.refilledAt[i]) / 1e9;
+            double tokens = Math.min(limit.burst(), bucket.tokens[i] + elapsedSeconds * limit.ratePerSecond());
+            bucket.refilledAt[i] = now;
+            if (tokens >= 1) {
+                bucket.tokens[i] = tokens - 1;
+                return 0;
+            }
+            bucket.tokens[i] = tokens;
+            return (long) Math.ceil((1 - tokens) / limit.ratePerSecond() * 1e9);
+        }
+    }
+
+    private static final class Bucket {
+        final double[] tokens = new double[CLASSES];
+        final long[] refilledAt = new long[CLASSES];
+
+        Bucket() {
+            // new clients start with a full bucket; the burst cap applies on first use
+            Arrays.fill(tokens, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    // LRU: clients that have gone quiet are forgotten, and start again with a full bucket
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(64, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sinik.orderapimanagement.repo;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "order.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaOrderStore implements OrderStore {
+
+    private final OrderRepository repo;
+
+    public JpaOrderStore(OrderRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    public Order create(String customerId) {
+        return repo.save(new Order(customerId));
+    }
+
+    @Override
+    public List<Order> createAll(List<String> customerIds) {
+        return repo.saveAll(customerIds.stream().map(Order::new).toList());
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return repo.findById(id);
+    }
+
+    // SELECT ... FOR UPDATE: the plain save in updateStatus would otherwise let two requests both move a CREATED order
+    @Override
+    public Optional<Order> findByIdForUpdate(UUID id) {
+        return repo.findByIdForUpdate(id);
+    }
+
+    @Override
+    public Optional<Instant> findUpdatedAt(UUID id) {
+        return repo.findUpdatedAtById(id);
+    }
+
+    @Override
+    // Flushing runs @PreUpdate now rather than at commit, so the returned order (and the event built
+    // from it) carries the new updatedAt. The UPDATE would be issued at commit anyway.
+    public Order updateStatus(Order order, OrderStatus newStatus) {
+        order.setStatus(newStatus);
+        return repo.saveAndFlush(order);
+    }
+
+    @Override
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        Specification<Order> spec = Specification.<Order>allOf();
+
+        if (status != null) spec = spec.and(OrderSpecifications.statusEquals(status));
+        if (from != null) spec = spec.and(OrderSpecifications.createdAtGte(from));
+        if (to != null) spec = spec.and(OrderSpecifications.createdAtLte(to));
+
+        return repo.findAll(spec, pageable);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sinik.orderapimanagement.repo;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage engine behind {@code OrderService}, selected with {@code order.store.engine}.
+ * {@link JpaOrderStore} (the default) keeps orders in the single JPA {@code orders} table.
+ */
+public interface OrderStore {
+
+    Order create(String customerId);
+
+    /** Creates one order per customer id; the result is in the same order as the input. */
+    List<Order> createAll(List<String> customerIds);
+
+    Optional<Order> findById(UUID id);
+
+    /**
+     * Reads the order for a status change. Stores whose {@link #updateStatus} is not a compare-and-set
+     * must lock the row here until the transaction ends, so concurrent changes are serialised.
+     */
+    default Optional<Order> findByIdForUpdate(UUID id) {
+        return findById(id);
+    }
+
+    /**
+     * The order's {@code updatedAt}, which doubles as its version. Stores that can read it without
+     * loading the whole order should override this.
+     */
+    default Optional<Instant> findUpdatedAt(UUID id) {
+        return findById(id).map(Order::getUpdatedAt);
+    }
+
+    /**
+     * Moves {@code order} to {@code newStatus}. The caller has already validated the transition
+     * against {@code order.getStatus()}; stores without row locks must only apply the change if
+     * the stored status still matches it.
+     */
+    Order updateStatus(Order order, OrderStatus newStatus);
+
+    Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable);
+
+    /**
+     * Whether calls need a transaction from the JPA transaction manager. Stores that never touch
+     * {@code spring.datasource} return false so their calls do not check out a connection.
+     */
+    default boolean usesTransactionManager() {
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sinik.orderapimanagement.repo.archive;
+
+import com.sinik.orderapimanagement.repo.JpaOrderStore;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean
+    @Primary
+    OrderStore archiveFallbackOrderStore(JpaOrderStore hot, OrderArchive archive) {
+        return new ArchiveFallbackOrderStore(hot, archive);
+    }
+}
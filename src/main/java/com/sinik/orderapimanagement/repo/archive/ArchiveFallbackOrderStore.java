@@ -0,0 +1,84 @@
+package com.sinik.orderapimanagement.repo.archive;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import com.sinik.orderapimanagement.repo.jdbc.OrderPages;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Hot store first, archive second. Searches that can match terminal orders read both
+ * tables and merge them, so callers never see where an order currently lives.
+ */
+public class ArchiveFallbackOrderStore implements OrderStore {
+
+    private final OrderStore hot;
+    private final OrderArchive archive;
+
+    public ArchiveFallbackOrderStore(OrderStore hot, OrderArchive archive) {
+        this.hot = hot;
+        this.archive = archive;
+    }
+
+    @Override
+    public Order create(String customerId) {
+        return hot.create(customerId);
+    }
+
+    @Override
+    public List<Order> createAll(List<String> customerIds) {
+        return hot.createAll(customerIds);
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return hot.findById(id).or(() -> archive.findById(id));
+    }
+
+    @Override
+    public Optional<Order> findByIdForUpdate(UUID id) {
+        return hot.findByIdForUpdate(id).or(() -> archive.findById(id));
+    }
+
+    @Override
+    public Optional<Instant> findUpdatedAt(UUID id) {
+        return hot.findUpdatedAt(id).or(() -> archive.findById(id).map(Order::getUpdatedAt));
+    }
+
+    @Override
+    public Order updateStatus(Order order, OrderStatus newStatus) {
+        // Terminal orders only ever get a same-status no-op, which may be an archived order.
+        if (order.getStatus() == newStatus && newStatus != OrderStatus.CREATED) {
+            return order;
+        }
+        return hot.updateStatus(order, newStatus);
+    }
+
+    @Override
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        if (status == OrderStatus.CREATED) {
+            return hot.search(status, from, to, pageable);
+        }
+
+        // id tie-break so the hot rows come back in exactly the order the merge expects
+        Sort sort = pageable.getSort().and(Sort.by("id"));
+        Pageable throughPage = pageable.isPaged()
+                ? PageRequest.of(0, (int) (pageable.getOffset() + pageable.getPageSize()), sort)
+                : Pageable.unpaged(sort);
+        Page<Order> hotRows = hot.search(status, from, to, throughPage);
+        List<Order> coldRows = archive.searchThroughPage(status, from, to, pageable);
+        long total = hotRows.getTotalElements() + archive.count(status, from, to);
+
+        return OrderPages.merge(List.of(hotRows.getContent(), coldRows),
+                OrderSql.comparator(pageable.getSort()), pageable, total);
+    }
+}
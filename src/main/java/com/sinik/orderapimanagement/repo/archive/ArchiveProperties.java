@@ -0,0 +1,20 @@
+package com.sinik.orderapimanagement.repo.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Moves COMPLETED/CANCELLED orders whose last update is older than {@code minAge} from
+ * {@code orders} to {@code orders_archive}, {@code chunkSize} rows per transaction with
+ * {@code pauseBetweenChunks} in between. Requires {@code order.store.engine=jpa}.
+ */
+@ConfigurationProperties(prefix = "order.archive")
+public record ArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30d") Duration minAge,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("200ms") Duration pauseBetweenChunks,
+        @DefaultValue("1h") Duration interval
+) {}
@@ -0,0 +1,82 @@
+package com.sinik.orderapimanagement.repo.archive;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cold storage for terminal orders: the {@code orders_archive} table in the main database.
+ * Rows only ever arrive here from {@link OrderArchiver} and are never updated.
+ *
+ * Not supported together with read/write routing: read-only lookups would query
+ * {@code orders_archive} on a replica, and the replication stub neither creates that table
+ * nor copies the archiver's deletes from {@code orders}.
+ */
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class OrderArchive {
+
+    static final String TABLE = "orders_archive";
+
+    private final JdbcTemplate jdbc;
+
+    public OrderArchive(JdbcTemplate jdbc, @Value("${datasource.routing.enabled:false}") boolean routingEnabled) {
+        if (routingEnabled) {
+            throw new IllegalStateException("order.archive.enabled=true cannot be combined with datasource.routing.enabled=true");
+        }
+        this.jdbc = jdbc;
+        jdbc.execute(OrderSql.createTable(TABLE));
+        jdbc.execute(OrderSql.createStatusIndex(TABLE));
+    }
+
+    public Optional<Order> findById(UUID id) {
+        return jdbc.query("SELECT " + OrderSql.COLUMNS + " FROM " + TABLE + " WHERE id = ?", OrderSql.ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /** Matching rows up to the end of the requested page, in {@code pageable}'s sort order. */
+    public List<Order> searchThroughPage(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        if (status == OrderStatus.CREATED) return List.of();
+        OrderSql.Filter filter = OrderSql.filter(status, from, to);
+        return jdbc.query("SELECT " + OrderSql.COLUMNS + " FROM " + TABLE + filter.where()
+                + OrderSql.orderByAndLimitThroughPage(pageable), OrderSql.ROW_MAPPER, filter.argsArray());
+    }
+
+    public long count(OrderStatus status, Instant from, Instant to) {
+        if (status == OrderStatus.CREATED) return 0;
+        OrderSql.Filter filter = OrderSql.filter(status, from, to);
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM " + TABLE + filter.where(), Long.class, filter.argsArray());
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Moves one chunk of terminal orders last updated before {@code cutoff} into the archive.
+     * Must run inside a transaction; returns the number of orders moved. Rows another instance
+     * is moving are skipped, not waited for.
+     */
+    int moveChunk(Instant cutoff, int chunkSize) {
+        List<UUID> ids = jdbc.queryForList(
+                "SELECT id FROM orders WHERE status IN ('COMPLETED', 'CANCELLED') AND updated_at < ? "
+                        + "ORDER BY updated_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                UUID.class, OrderSql.timestamp(cutoff), chunkSize);
+        if (ids.isEmpty()) return 0;
+
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        jdbc.update("INSERT INTO " + TABLE + " (" + OrderSql.COLUMNS + ") SELECT " + OrderSql.COLUMNS
+                + " FROM orders WHERE id IN (" + in + ")", args);
+        jdbc.update("DELETE FROM orders WHERE id IN (" + in + ")", args);
+        return ids.size();
+    }
+}
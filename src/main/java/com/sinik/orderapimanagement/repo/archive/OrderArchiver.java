@@ -0,0 +1,92 @@
+package com.sinik.orderapimanagement.repo.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled job that keeps the hot {@code orders} table small by moving old terminal orders
+ * into {@link OrderArchive}. Each chunk is its own short transaction, with a pause between
+ * chunks so live traffic is never blocked for long.
+ *
+ * Runs on its own thread rather than the shared {@code @Scheduled} one: a large backlog keeps a
+ * run (and its pauses) going for minutes, which must not hold up replication, memory-store syncs
+ * or notification drains.
+ */
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class OrderArchiver implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderArchive archive;
+    private final ArchiveProperties props;
+    private final TransactionTemplate tx;
+
+    private ScheduledExecutorService runner;
+
+    public OrderArchiver(OrderArchive archive, ArchiveProperties props, PlatformTransactionManager txManager) {
+        this.archive = archive;
+        this.props = props;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Override
+    public void start() {
+        runner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = props.interval().toMillis();
+        runner.scheduleWithFixedDelay(this::runScheduled, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        runner.shutdownNow();
+        runner = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return runner != null;
+    }
+
+    public int archiveOnce() {
+        Instant cutoff = Instant.now().minus(props.minAge());
+        int total = 0;
+        while (true) {
+            Integer moved = tx.execute(status -> archive.moveChunk(cutoff, props.chunkSize()));
+            total += moved;
+            if (moved < props.chunkSize()) break;
+            try {
+                Thread.sleep(props.pauseBetweenChunks().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} terminal orders last updated before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private void runScheduled() {
+        try {
+            archiveOnce();
+        } catch (RuntimeException ex) {
+            // an escaping exception would cancel every later run
+            log.error("Archive run failed", ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sinik.orderapimanagement.repo.jdbc;
+
+import com.sinik.orderapimanagement.domain.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/** Builds one page out of several individually sorted result lists. */
+public final class OrderPages {
+    private OrderPages() {}
+
+    /**
+     * K-way merge of {@code runs}, each already sorted by {@code comparator} and holding at least
+     * every row up to the end of the requested page, then skips to the page offset.
+     */
+    public static Page<Order> merge(List<List<Order>> runs, Comparator<Order> comparator, Pageable pageable, long total) {
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.current(), b.current()));
+        for (List<Order> run : runs) {
+            if (!run.isEmpty()) heads.add(new Cursor(run, 0));
+        }
+
+        List<Order> content = new ArrayList<>(Math.min(limit, 1024));
+        while (!heads.isEmpty() && content.size() < limit) {
+            Cursor head = heads.poll();
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(head.current());
+            }
+            if (head.index() + 1 < head.run().size()) {
+                heads.add(new Cursor(head.run(), head.index() + 1));
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private record Cursor(List<Order> run, int index) {
+        Order current() {
+            return run.get(index);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sinik.orderapimanagement.repo.jdbc;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Plain-SQL mapping of the orders table, for stores that read and write orders with JdbcTemplate
+ * instead of JPA. Column names and types match what Hibernate generates for {@link Order}.
+ */
+public final class OrderSql {
+    private OrderSql() {}
+
+    public static final String COLUMNS = "id, status, customer_id, created_at, updated_at";
+
+    public static final RowMapper<Order> ROW_MAPPER = (rs, rowNum) -> Order.restore(
+            rs.getObject("id", UUID.class),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getString("customer_id"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+            rs.getObject("updated_at", OffsetDateTime.class).toInstant()
+    );
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "status", "status",
+            "customerId", "customer_id",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at"
+    );
+
+    private static final Map<String, Function<Order, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", o -> o.getId().toString(),
+            "status", o -> o.getStatus().name(),
+            "customerId", Order::getCustomerId,
+            "createdAt", Order::getCreatedAt,
+            "updatedAt", Order::getUpdatedAt
+    );
+
+    public static String createTable(String table) {
+        return "CREATE TABLE IF NOT EXISTS " + table + " ("
+                + "id UUID PRIMARY KEY, "
+                + "status VARCHAR(32) NOT NULL, "
+                + "customer_id VARCHAR(255) NOT NULL, "
+                + "created_at TIMESTAMP(9) WITH TIME ZONE NOT NULL, "
+                + "updated_at TIMESTAMP(9) WITH TIME ZONE NOT NULL)";
+    }
+
+    public static String createStatusIndex(String table) {
+        return "CREATE INDEX IF NOT EXISTS " + table + "_status_created_idx ON " + table + " (status, created_at)";
+    }
+
+    public static String insert(String table) {
+        return "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+    }
+
+    public static Object[] insertArgs(Order o) {
+        return new Object[]{o.getId(), o.getStatus().name(), o.getCustomerId(),
+                timestamp(o.getCreatedAt()), timestamp(o.getUpdatedAt())};
+    }
+
+    public static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    /** WHERE clause (possibly empty) and its arguments for the search filters. */
+    public static Filter filter(OrderStatus status, Instant from, Instant to) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            conditions.add("status = ?");
+            args.add(status.name());
+        }
+        if (from != null) {
+            conditions.add("created_at >= ?");
+            args.add(timestamp(from));
+        }
+        if (to != null) {
+            conditions.add("created_at <= ?");
+            args.add(timestamp(to));
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return new Filter(where, args);
+    }
+
+    /**
+     * ORDER BY / LIMIT for fetching everything up to the end of the requested page.
+     * Callers that merge several sources then skip {@code pageable.getOffset()} rows themselves.
+     */
+    public static String orderByAndLimitThroughPage(Pageable pageable) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : pageable.getSort()) {
+            sql.append(column(order.getProperty())).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        sql.append("id");
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ").append(pageable.getOffset() + pageable.getPageSize());
+        }
+        return sql.toString();
+    }
+
+    /** Same ordering as {@link #orderByAndLimitThroughPage}, for merging rows from several sources in memory. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<Order> comparator(Sort sort) {
+        Comparator<Order> result = null;
+        for (Sort.Order order : sort) {
+            column(order.getProperty());
+            Function<Order, Comparable> key = (Function) SORT_KEYS.get(order.getProperty());
+            Comparator<Order> next = Comparator.comparing(key);
+            if (order.isDescending()) next = next.reversed();
+            result = result == null ? next : result.thenComparing(next);
+        }
+        Comparator<Order> byId = Comparator.comparing(o -> o.getId().toString());
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    private static String column(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        return column;
+    }
+
+    public record Filter(String where, List<Object> args) {
+        public Object[] argsArray() {
+            return args.toArray();
+        }
+    }
+}
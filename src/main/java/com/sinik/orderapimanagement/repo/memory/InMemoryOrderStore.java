@@ -0,0 +1,325 @@
+package com.sinik.orderapimanagement.repo.memory;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.error.InvalidStatusTransitionException;
+import com.sinik.orderapimanagement.error.OrderNotFoundException;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every order in memory: a hash index by id, plus skip-list indexes by createdAt (overall
+ * and per status) for {@link #search}. Reads never lock. Writes are serialised, appended to a
+ * memory-mapped {@link OrderLog} and then applied to the indexes, so there is no database round trip.
+ *
+ * On disk: {@code orders-<gen>.log} segments and {@code snapshot-<gen>.bin}. A snapshot of
+ * generation N holds everything written to segments before N; startup loads the newest snapshot
+ * and replays segments N and later.
+ */
+@Component
+@ConditionalOnProperty(name = "order.store.engine", havingValue = "memory")
+public class InMemoryOrderStore implements OrderStore, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryOrderStore.class);
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final Map<UUID, Order> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<IndexKey, Order> byCreatedAt = new ConcurrentSkipListMap<>();
+    private final Map<OrderStatus, ConcurrentSkipListMap<IndexKey, Order>> byStatus = new EnumMap<>(OrderStatus.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Object writeLock = new Object();
+
+    private final ScheduledExecutorService syncer;
+
+    private volatile OrderLog orderLog;
+    private long generation;
+
+    public InMemoryOrderStore(MemoryStoreProperties props) {
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>());
+        }
+        this.directory = Path.of(props.directory());
+        this.segmentSize = (int) props.logSegmentSize().toBytes();
+        recover();
+
+        // own thread, not the shared @Scheduled one: the sync-interval bound must hold while other jobs run long
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-log-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = props.syncInterval().toMillis();
+        syncer.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Order create(String customerId) {
+        Instant now = Instant.now();
+        Order order = Order.restore(UUID.randomUUID(), OrderStatus.CREATED, customerId, now, now);
+        synchronized (writeLock) {
+            write(order);
+        }
+        return order;
+    }
+
+    @Override
+    public List<Order> createAll(List<String> customerIds) {
+        List<Order> created = new ArrayList<>(customerIds.size());
+        synchronized (writeLock) {
+            for (String customerId : customerIds) {
+                Instant now = Instant.now();
+                Order order = Order.restore(UUID.randomUUID(), OrderStatus.CREATED, customerId, now, now);
+                write(order);
+                created.add(order);
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public Order updateStatus(Order order, OrderStatus newStatus) {
+        synchronized (writeLock) {
+            Order current = byId.get(order.getId());
+            if (current == null) {
+                throw new OrderNotFoundException(order.getId());
+            }
+            if (current.getStatus() != order.getStatus()) {
+                throw new InvalidStatusTransitionException(order.getId(), current.getStatus(), newStatus);
+            }
+            Order updated = Order.restore(current.getId(), newStatus, current.getCustomerId(),
+                    current.getCreatedAt(), Instant.now());
+            write(updated);
+            return updated;
+        }
+    }
+
+    @Override
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        NavigableMap<IndexKey, Order> index = status == null ? byCreatedAt : byStatus.get(status);
+        if (from != null || to != null) {
+            IndexKey low = from == null ? byCreatedAtLowest(index) : new IndexKey(from, MIN_ID);
+            IndexKey high = to == null ? byCreatedAtHighest(index) : new IndexKey(to, MAX_ID);
+            if (low == null || high == null || low.compareTo(high) > 0) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+            index = index.subMap(low, true, high, true);
+        }
+
+        Sort sort = pageable.getSort();
+        Sort.Order createdAtOrder = sort.getOrderFor("createdAt");
+        Stream<Order> ordered;
+        if (sort.isUnsorted()) {
+            ordered = index.values().stream();
+        } else if (createdAtOrder != null && sort.stream().count() == 1) {
+            ordered = (createdAtOrder.isAscending() ? index : index.descendingMap()).values().stream();
+        } else {
+            ordered = index.values().stream().sorted(OrderSql.comparator(sort));
+        }
+
+        List<Order> content = pageable.isPaged()
+                ? ordered.skip(pageable.getOffset()).limit(pageable.getPageSize()).toList()
+                : ordered.toList();
+        // skip-list size() is O(n); acceptable for an edge store, and exact like the JPA count query
+        long total = (status == null && from == null && to == null) ? byId.size() : index.size();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public boolean usesTransactionManager() {
+        return false;
+    }
+
+    public void sync() {
+        // outside the write lock: msync can take milliseconds and must not stall writers
+        orderLog.force();
+    }
+
+    /** Rolls to a new log segment, writes a snapshot covering the old ones and deletes them. */
+    @Scheduled(fixedDelayString = "${order.memory-store.snapshot-interval:5m}",
+            initialDelayString = "${order.memory-store.snapshot-interval:5m}")
+    public synchronized void snapshot() {
+        long snapshotGeneration;
+        synchronized (writeLock) {
+            rollSegment();
+            snapshotGeneration = generation;
+        }
+
+        Path tmp = directory.resolve("snapshot-" + snapshotGeneration + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            List<Order> orders = List.copyOf(byId.values());
+            out.writeInt(orders.size());
+            for (Order order : orders) {
+                OrderLog.write(out, order);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write order snapshot", ex);
+        }
+
+        try {
+            Files.move(tmp, snapshotPath(snapshotGeneration), StandardCopyOption.ATOMIC_MOVE);
+            deleteFilesBefore(snapshotGeneration);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot publish order snapshot", ex);
+        }
+        log.info("Order snapshot {} written with {} orders", snapshotGeneration, byId.size());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        syncer.shutdownNow();
+        synchronized (writeLock) {
+            orderLog.close();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException ex) {
+            // an escaping exception would cancel every later sync
+            log.error("Order log sync failed", ex);
+        }
+    }
+
+    /** Caller holds {@link #writeLock}. */
+    private void write(Order order) {
+        if (!orderLog.append(order)) {
+            rollSegment();
+            if (!orderLog.append(order)) {
+                throw new IllegalStateException("Order record larger than log segment");
+            }
+        }
+        apply(order);
+    }
+
+    private void apply(Order order) {
+        Order previous = byId.put(order.getId(), order);
+        IndexKey key = new IndexKey(order.getCreatedAt(), order.getId());
+        if (previous != null) {
+            byStatus.get(previous.getStatus()).remove(key);
+        }
+        byStatus.get(order.getStatus()).put(key, order);
+        byCreatedAt.put(key, order);
+    }
+
+    private void rollSegment() {
+        try {
+            orderLog.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot close order log segment", ex);
+        }
+        generation++;
+        orderLog = OrderLog.open(segmentPath(generation), segmentSize, this::apply);
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            long snapshotGeneration = latestGeneration("snapshot-", ".bin");
+            if (snapshotGeneration >= 0) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                        Files.newInputStream(snapshotPath(snapshotGeneration))))) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        apply(OrderLog.read(in));
+                    }
+                }
+            }
+
+            long lastSegment = Math.max(latestGeneration("orders-", ".log"), Math.max(snapshotGeneration, 0));
+            for (long g = Math.max(snapshotGeneration, 0); g < lastSegment; g++) {
+                if (Files.exists(segmentPath(g))) {
+                    OrderLog.open(segmentPath(g), segmentSize, this::apply).close();
+                }
+            }
+            generation = lastSegment;
+            orderLog = OrderLog.open(segmentPath(generation), segmentSize, this::apply);
+            log.info("Order store recovered {} orders (snapshot {}, segments up to {})",
+                    byId.size(), snapshotGeneration, generation);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot recover order store from " + directory, ex);
+        }
+    }
+
+    private long latestGeneration(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(prefix) && n.endsWith(suffix))
+                    .mapToLong(n -> Long.parseLong(n.substring(prefix.length(), n.length() - suffix.length())))
+                    .max().orElse(-1);
+        }
+    }
+
+    private void deleteFilesBefore(long snapshotGeneration) throws IOException {
+        for (long g = snapshotGeneration - 1; g >= 0; g--) {
+            boolean deleted = Files.deleteIfExists(segmentPath(g)) | Files.deleteIfExists(snapshotPath(g));
+            if (!deleted) break;
+        }
+    }
+
+    private Path segmentPath(long g) {
+        return directory.resolve("orders-" + g + ".log");
+    }
+
+    private Path snapshotPath(long g) {
+        return directory.resolve("snapshot-" + g + ".bin");
+    }
+
+    private static IndexKey byCreatedAtLowest(NavigableMap<IndexKey, Order> index) {
+        return index.isEmpty() ? null : index.firstKey();
+    }
+
+    private static IndexKey byCreatedAtHighest(NavigableMap<IndexKey, Order> index) {
+        return index.isEmpty() ? null : index.lastKey();
+    }
+
+    private record IndexKey(Instant createdAt, UUID id) implements Comparable<IndexKey> {
+        @Override
+        public int compareTo(IndexKey other) {
+            int c = createdAt.compareTo(other.createdAt);
+            return c != 0 ? c : id.compareTo(other.id);
+        }
+    }
+}
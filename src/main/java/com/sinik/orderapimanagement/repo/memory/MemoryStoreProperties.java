@@ -0,0 +1,20 @@
+package com.sinik.orderapimanagement.repo.memory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code order.store.engine=memory}. Writes reach the memory-mapped log immediately
+ * (safe against a process crash); the log is forced to disk every {@code syncInterval}, so an
+ * OS crash can lose at most that much. A snapshot every {@code snapshotInterval} keeps replay short.
+ */
+@ConfigurationProperties(prefix = "order.memory-store")
+public record MemoryStoreProperties(
+        @DefaultValue("./data/memory-store") String directory,
+        @DefaultValue("64MB") DataSize logSegmentSize,
+        @DefaultValue("100ms") Duration syncInterval,
+        @DefaultValue("5m") Duration snapshotInterval
+) {}
@@ -0,0 +1,152 @@
+package com.sinik.orderapimanagement.repo.memory;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size, memory-mapped segment of the order write-ahead log.
+ *
+ * Every record is the full state of one order after a create or status change, so replay is a
+ * plain upsert and re-applying a record is harmless. Layout: {@code [int length][int crc32][payload]};
+ * a zero length marks the end of the segment, and a bad checksum (torn write) ends replay.
+ */
+final class OrderLog implements Closeable {
+
+    private static final int HEADER = 8;
+    private static final int FIXED_PAYLOAD = 8 + 8 + 1 + 8 + 4 + 8 + 4 + 2;
+    /** Stored as a short; also keeps the snapshot's modified UTF-8 under its 64 KiB limit. */
+    static final int MAX_CUSTOMER_ID_BYTES = Short.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    private OrderLog(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /** Maps {@code file}, replays its valid records into {@code replay} and positions for appending after them. */
+    static OrderLog open(Path file, int capacity, Consumer<Order> replay) {
+        try {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            OrderLog log = new OrderLog(channel, buffer);
+            log.replay(replay);
+            return log;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open order log " + file, ex);
+        }
+    }
+
+    /** Appends the order's current state; returns false if the segment is full. */
+    boolean append(Order order) {
+        byte[] customer = order.getCustomerId().getBytes(StandardCharsets.UTF_8);
+        if (customer.length > MAX_CUSTOMER_ID_BYTES) {
+            throw new IllegalArgumentException("Customer id longer than " + MAX_CUSTOMER_ID_BYTES + " bytes");
+        }
+        int length = FIXED_PAYLOAD + customer.length;
+        if (buffer.remaining() < HEADER + length + 4) {
+            return false;
+        }
+
+        int start = buffer.position();
+        buffer.position(start + HEADER);
+        buffer.putLong(order.getId().getMostSignificantBits());
+        buffer.putLong(order.getId().getLeastSignificantBits());
+        buffer.put((byte) order.getStatus().ordinal());
+        putInstant(order.getCreatedAt());
+        putInstant(order.getUpdatedAt());
+        buffer.putShort((short) customer.length);
+        buffer.put(customer);
+        int end = buffer.position();
+
+        crc.reset();
+        crc.update(buffer.slice(start + HEADER, length));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // length last: a record only becomes visible to replay once it is complete
+        buffer.putInt(start, length);
+        buffer.position(end);
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void replay(Consumer<Order> consumer) {
+        while (buffer.remaining() >= HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length <= 0 || length > buffer.remaining() - HEADER) break;
+
+            crc.reset();
+            crc.update(buffer.slice(start + HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(start + 4)) break;
+
+            buffer.position(start + HEADER);
+            consumer.accept(readOrder());
+        }
+    }
+
+    private Order readOrder() {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        OrderStatus status = OrderStatus.values()[buffer.get()];
+        Instant createdAt = getInstant();
+        Instant updatedAt = getInstant();
+        byte[] customer = new byte[buffer.getShort()];
+        buffer.get(customer);
+        return Order.restore(id, status, new String(customer, StandardCharsets.UTF_8), createdAt, updatedAt);
+    }
+
+    private void putInstant(Instant instant) {
+        buffer.putLong(instant.getEpochSecond());
+        buffer.putInt(instant.getNano());
+    }
+
+    private Instant getInstant() {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+
+    /** Snapshot files use the same payload encoding, without the per-record header. */
+    static void write(DataOutput out, Order order) throws IOException {
+        out.writeLong(order.getId().getMostSignificantBits());
+        out.writeLong(order.getId().getLeastSignificantBits());
+        out.writeByte(order.getStatus().ordinal());
+        out.writeLong(order.getCreatedAt().getEpochSecond());
+        out.writeInt(order.getCreatedAt().getNano());
+        out.writeLong(order.getUpdatedAt().getEpochSecond());
+        out.writeInt(order.getUpdatedAt().getNano());
+        out.writeUTF(order.getCustomerId());
+    }
+
+    static Order read(DataInput in) throws IOException {
+        UUID id = new UUID(in.readLong(), in.readLong());
+        OrderStatus status = OrderStatus.values()[in.readByte()];
+        Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        Instant updatedAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return Order.restore(id, status, in.readUTF(), createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,157 @@
+package com.sinik.orderapimanagement.repo.sharding;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.error.InvalidStatusTransitionException;
+import com.sinik.orderapimanagement.error.OrderNotFoundException;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import com.sinik.orderapimanagement.repo.jdbc.OrderPages;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Spreads orders over several databases by hashing the order id. Point operations touch one
+ * shard; {@link #search} queries every shard in parallel and merge-sorts the results.
+ * There are no cross-shard transactions: a batch from {@link #createAll} commits per shard.
+ */
+@Component
+@ConditionalOnProperty(name = "order.store.engine", havingValue = "sharded")
+public class ShardedOrderStore implements OrderStore, DisposableBean {
+
+    private static final String TABLE = "orders";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedOrderStore(ShardingProperties props) {
+        if (props.shards().isEmpty()) {
+            throw new IllegalStateException("order.store.engine=sharded requires at least one order.sharding.shards entry");
+        }
+        for (int i = 0; i < props.shards().size(); i++) {
+            ShardingProperties.Shard shard = props.shards().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("order-shard-" + i);
+            pool.setJdbcUrl(shard.url());
+            pool.setUsername(shard.username());
+            pool.setPassword(shard.password());
+            pools.add(pool);
+
+            JdbcTemplate jdbc = new JdbcTemplate(pool);
+            jdbc.execute(OrderSql.createTable(TABLE));
+            jdbc.execute(OrderSql.createStatusIndex(TABLE));
+            shards.add(jdbc);
+        }
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardFor(UUID id) {
+        return Math.floorMod(id.hashCode(), shards.size());
+    }
+
+    @Override
+    public Order create(String customerId) {
+        Order order = newOrder(customerId);
+        shard(order.getId()).update(OrderSql.insert(TABLE), OrderSql.insertArgs(order));
+        return order;
+    }
+
+    @Override
+    public List<Order> createAll(List<String> customerIds) {
+        List<Order> orders = customerIds.stream().map(ShardedOrderStore::newOrder).toList();
+
+        List<List<Object[]>> argsByShard = new ArrayList<>();
+        shards.forEach(s -> argsByShard.add(new ArrayList<>()));
+        for (Order order : orders) {
+            argsByShard.get(shardFor(order.getId())).add(OrderSql.insertArgs(order));
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (!argsByShard.get(i).isEmpty()) {
+                shards.get(i).batchUpdate(OrderSql.insert(TABLE), argsByShard.get(i));
+            }
+        }
+        return orders;
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return shard(id).query("SELECT " + OrderSql.COLUMNS + " FROM " + TABLE + " WHERE id = ?", OrderSql.ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Instant> findUpdatedAt(UUID id) {
+        return shard(id).query("SELECT updated_at FROM " + TABLE + " WHERE id = ?",
+                        (rs, i) -> rs.getObject(1, OffsetDateTime.class).toInstant(), id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Order updateStatus(Order order, OrderStatus newStatus) {
+        Instant now = Instant.now();
+        int updated = shard(order.getId()).update(
+                "UPDATE " + TABLE + " SET status = ?, updated_at = ? WHERE id = ? AND status = ?",
+                newStatus.name(), OrderSql.timestamp(now), order.getId(), order.getStatus().name());
+        if (updated == 0) {
+            // Someone else changed the order since it was read: report the transition it would now be.
+            Order current = findById(order.getId()).orElseThrow(() -> new OrderNotFoundException(order.getId()));
+            throw new InvalidStatusTransitionException(order.getId(), current.getStatus(), newStatus);
+        }
+        return Order.restore(order.getId(), newStatus, order.getCustomerId(), order.getCreatedAt(), now);
+    }
+
+    @Override
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        OrderSql.Filter filter = OrderSql.filter(status, from, to);
+        String pageSql = "SELECT " + OrderSql.COLUMNS + " FROM " + TABLE + filter.where()
+                + OrderSql.orderByAndLimitThroughPage(pageable);
+        String countSql = "SELECT COUNT(*) FROM " + TABLE + filter.where();
+
+        List<CompletableFuture<List<Order>>> pages = new ArrayList<>();
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        for (JdbcTemplate shard : shards) {
+            pages.add(CompletableFuture.supplyAsync(
+                    () -> shard.query(pageSql, OrderSql.ROW_MAPPER, filter.argsArray()), fanOut));
+            counts.add(CompletableFuture.supplyAsync(
+                    () -> shard.queryForObject(countSql, Long.class, filter.argsArray()), fanOut));
+        }
+
+        long total = counts.stream().mapToLong(CompletableFuture::join).sum();
+        List<List<Order>> runs = pages.stream().map(CompletableFuture::join).toList();
+        return OrderPages.merge(runs, OrderSql.comparator(pageable.getSort()), pageable, total);
+    }
+
+    @Override
+    public void destroy() {
+        fanOut.shutdown();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private JdbcTemplate shard(UUID id) {
+        return shards.get(shardFor(id));
+    }
+
+    private static Order newOrder(String customerId) {
+        Instant now = Instant.now();
+        return Order.restore(UUID.randomUUID(), OrderStatus.CREATED, customerId, now, now);
+    }
+}
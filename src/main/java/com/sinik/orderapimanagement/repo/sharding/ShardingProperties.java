@@ -0,0 +1,16 @@
+package com.sinik.orderapimanagement.repo.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Databases used when {@code order.store.engine=sharded}. An order lives on shard
+ * {@code floorMod(id.hashCode(), shards.size())}, so changing the number of shards
+ * requires moving existing orders.
+ */
+@ConfigurationProperties(prefix = "order.sharding")
+public record ShardingProperties(@DefaultValue List<Shard> shards) {
+    public record Shard(String url, String username, String password) {}
+}
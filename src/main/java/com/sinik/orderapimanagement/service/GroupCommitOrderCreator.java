@@ -0,0 +1,194 @@
+package com.sinik.orderapimanagement.service;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.notification.event.OrderCreatedEvent;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Micro-batches concurrent order creates into a single transaction so the H2 file store
+ * syncs once per batch instead of once per request. Each caller blocks until the batch
+ * holding its order has committed and then gets its own saved order back.
+ */
+@Component
+@ConditionalOnProperty(name = "order.group-commit.enabled", havingValue = "true")
+public class GroupCommitOrderCreator implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitOrderCreator.class);
+
+    private final OrderStore store;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate tx;
+    private final GroupCommitProperties props;
+    private final BlockingQueue<PendingCreate> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GroupCommitOrderCreator(OrderStore store, ApplicationEventPublisher publisher,
+                                   PlatformTransactionManager txManager, GroupCommitProperties props) {
+        this.store = store;
+        this.publisher = publisher;
+        this.tx = new TransactionTemplate(txManager);
+        this.props = props;
+        this.queue = new LinkedBlockingQueue<>(props.queueCapacity());
+    }
+
+    public Order create(String customerId) {
+        if (!running) {
+            throw new IllegalStateException("Group commit is not running");
+        }
+        PendingCreate pending = new PendingCreate(customerId);
+        long timeoutNanos = props.commitTimeout().toNanos();
+        try {
+            if (!queue.offer(pending, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("Group commit queue is full");
+            }
+            // stop() may have drained the queue between the check above and the offer
+            if (!running && queue.remove(pending)) {
+                throw new IllegalStateException("Group commit is not running");
+            }
+            return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Not taken into a batch yet: withdraw it, so a retrying client cannot end up with two orders.
+            if (pending.claim()) {
+                queue.remove(pending);
+                throw new IllegalStateException("Group commit did not complete within " + props.commitTimeout(), ex);
+            }
+            // Already in a batch: this order commits or fails with it, so report that outcome.
+            return join(pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Group commit failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "order-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(props.maxDelay().toMillis() + 5_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever the flusher did not take (late arrivals, or a flusher that did not finish) fails fast
+        PendingCreate left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Group commit stopped"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<PendingCreate> batch = new ArrayList<>(props.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + props.maxDelay().toNanos();
+                while (batch.size() < props.maxBatchSize()) {
+                    queue.drainTo(batch, props.maxBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= props.maxBatchSize() || remaining <= 0) break;
+                    PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                // callers that timed out while queued have withdrawn, and must not be inserted
+                batch.removeIf(p -> !p.claim());
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit flusher failed", ex);
+                batch.forEach(p -> p.result().completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        try {
+            List<Order> saved = tx.execute(status -> insert(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            // One bad order must not fail its neighbours: commit the batch one by one instead.
+            log.warn("Group commit of {} orders failed, retrying individually", batch.size(), ex);
+            for (PendingCreate pending : batch) {
+                flush(List.of(pending));
+            }
+        }
+    }
+
+    private List<Order> insert(List<PendingCreate> batch) {
+        List<Order> saved = store.createAll(batch.stream().map(PendingCreate::customerId).toList());
+        for (Order order : saved) {
+            publisher.publishEvent(new OrderCreatedEvent(order.getId(), order.getCreatedAt()));
+        }
+        return saved;
+    }
+
+    private static Order join(PendingCreate pending) {
+        try {
+            return pending.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            throw ex;
+        }
+    }
+
+    /** {@link #claim()} is won by either the flusher (the order goes into a batch) or a timed-out caller. */
+    private record PendingCreate(String customerId, CompletableFuture<Order> result, AtomicBoolean claimed) {
+        PendingCreate(String customerId) {
+            this(customerId, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sinik.orderapimanagement.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Group commit for {@link OrderService#create}: concurrent creates are queued and inserted
+ * together in one transaction once {@code maxBatchSize} requests are waiting or
+ * {@code maxDelay} has passed since the first one arrived. A caller gives up after
+ * {@code commitTimeout} (queueing plus commit) instead of holding its request thread forever.
+ */
+@ConfigurationProperties(prefix = "order.group-commit")
+public record GroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxDelay,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("30s") Duration commitTimeout
+) {}
@@ -0,0 +1,157 @@
+package com.sinik.orderapimanagement.service;
+
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import com.sinik.orderapimanagement.repo.jdbc.OrderSql;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Job that cancels orders stuck in CREATED for longer than the TTL.
+ *
+ * Works on the JPA {@code orders} table in chunks: each chunk locks at most {@code chunkSize}
+ * rows, cancels them with one UPDATE and publishes an {@link OrderStatusChangedEvent} per order,
+ * all in one short transaction, so notifications and history see the changes once it commits.
+ * Rows locked by another instance's chunk are skipped, so instances sharing the database split
+ * the backlog instead of waiting on each other.
+ *
+ * Like {@code OrderArchiver}, it runs on its own thread: a run sleeps between chunks, which must
+ * not hold up the jobs sharing the {@code @Scheduled} thread.
+ */
+@Component
+@ConditionalOnProperty(name = "order.expiry.enabled", havingValue = "true")
+public class OrderExpiryJob implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryJob.class);
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher publisher;
+    private final OrderExpiryProperties props;
+    private final TransactionTemplate tx;
+
+    private final Counter expired;
+    private final Counter chunks;
+    private final AtomicLong expiredThisRun = new AtomicLong();
+    private final AtomicLong lastRunFinished = new AtomicLong();
+
+    private ScheduledExecutorService runner;
+
+    public OrderExpiryJob(JdbcTemplate jdbc, ApplicationEventPublisher publisher, OrderExpiryProperties props,
+                          PlatformTransactionManager txManager, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbc = jdbc;
+        this.publisher = publisher;
+        this.props = props;
+        this.tx = new TransactionTemplate(txManager);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.expired = Counter.builder("order.expiry.expired")
+                .description("CREATED orders cancelled by the expiry job")
+                .register(registry);
+        this.chunks = Counter.builder("order.expiry.chunks")
+                .description("Expiry chunks committed")
+                .register(registry);
+        Gauge.builder("order.expiry.run.expired", expiredThisRun, AtomicLong::get)
+                .description("Orders cancelled so far by the current or last run")
+                .register(registry);
+        Gauge.builder("order.expiry.last.run.finished", lastRunFinished, AtomicLong::get)
+                .description("Epoch seconds when the last run finished")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        runner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = props.interval().toMillis();
+        runner.scheduleWithFixedDelay(this::runScheduled, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        runner.shutdownNow();
+        runner = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return runner != null;
+    }
+
+    public int expireOnce() {
+        Instant cutoff = Instant.now().minus(props.ttl());
+        expiredThisRun.set(0);
+        int total = 0;
+        while (true) {
+            Integer cancelled = tx.execute(status -> expireChunk(cutoff));
+            total += cancelled;
+            if (cancelled < props.chunkSize()) break;
+            try {
+                Thread.sleep(props.pauseBetweenChunks().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        lastRunFinished.set(Instant.now().getEpochSecond());
+        if (total > 0) {
+            log.info("Expired {} CREATED orders created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private void runScheduled() {
+        try {
+            expireOnce();
+        } catch (RuntimeException ex) {
+            // an escaping exception would cancel every later run
+            log.error("Expiry run failed", ex);
+        }
+    }
+
+    private int expireChunk(Instant cutoff) {
+        List<UUID> ids = jdbc.queryForList(
+                "SELECT id FROM orders WHERE status = 'CREATED' AND created_at < ? "
+                        + "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                UUID.class, OrderSql.timestamp(cutoff), props.chunkSize());
+        if (ids.isEmpty()) return 0;
+
+        Instant now = Instant.now();
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(OrderSql.timestamp(now));
+        args.addAll(ids);
+        jdbc.update("UPDATE orders SET status = 'CANCELLED', updated_at = ? WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", args.toArray());
+
+        for (UUID id : ids) {
+            publisher.publishEvent(new OrderStatusChangedEvent(id, OrderStatus.CREATED, OrderStatus.CANCELLED, now));
+        }
+        expired.increment(ids.size());
+        chunks.increment();
+        expiredThisRun.addAndGet(ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.sinik.orderapimanagement.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Expiry of orders left in CREATED: every {@code interval}, orders created more than {@code ttl}
+ * ago are cancelled {@code chunkSize} at a time, sleeping {@code pauseBetweenChunks} in between.
+ */
+@ConfigurationProperties(prefix = "order.expiry")
+public record OrderExpiryProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("7d") Duration ttl,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("200ms") Duration pauseBetweenChunks,
+        @DefaultValue("10m") Duration interval
+) {}
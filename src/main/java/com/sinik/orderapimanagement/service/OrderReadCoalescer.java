@@ -0,0 +1,63 @@
+package com.sinik.orderapimanagement.service;
+
+import com.sinik.orderapimanagement.datasource.ReadWriteRoutingDataSource;
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.notification.event.OrderCreatedEvent;
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read path for the API: concurrent identical reads share one {@link OrderService} call.
+ *
+ * Sits outside the service's transactions, so callers waiting on someone else's load hold no
+ * connection. After a write commits, in-flight loads it may affect are forgotten, so a read sent
+ * after a write's response never joins a load that started before the write. Callers pinned to
+ * the primary for read-your-writes load on their own: a shared load may be reading a replica.
+ */
+@Component
+public class OrderReadCoalescer {
+
+    private final OrderService service;
+    private final SingleFlight<UUID, Order> byId = new SingleFlight<>();
+    private final SingleFlight<SearchKey, Page<Order>> searches = new SingleFlight<>();
+
+    public OrderReadCoalescer(OrderService service) {
+        this.service = service;
+    }
+
+    public Order get(UUID id) {
+        if (ReadWriteRoutingDataSource.isPinnedToPrimary()) {
+            return service.get(id);
+        }
+        return byId.run(id, () -> service.get(id));
+    }
+
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        if (ReadWriteRoutingDataSource.isPinnedToPrimary()) {
+            return service.search(status, from, to, pageable);
+        }
+        return searches.run(new SearchKey(status, from, to, pageable), () -> service.search(status, from, to, pageable));
+    }
+
+    // Synchronous after-commit listeners run before the write's response is sent.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent e) {
+        searches.forgetAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent e) {
+        byId.forget(e.orderId());
+        searches.forgetAll();
+    }
+
+    // Pageable implementations compare page, size and sort by value.
+    private record SearchKey(OrderStatus status, Instant from, Instant to, Pageable pageable) {}
+}
@@ -4,66 +4,100 @@ import com.sinik.orderapimanagement.domain.Order;
 import com.sinik.orderapimanagement.domain.OrderStatus;
 import com.sinik.orderapimanagement.error.InvalidStatusTransitionException;
 import com.sinik.orderapimanagement.error.OrderNotFoundException;
+import com.sinik.orderapimanagement.history.OrderStatusHistory;
+import com.sinik.orderapimanagement.history.OrderStatusHistoryRepository;
 import com.sinik.orderapimanagement.notification.event.OrderCreatedEvent;
 import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
-import com.sinik.orderapimanagement.repo.OrderRepository;
-import com.sinik.orderapimanagement.repo.OrderSpecifications;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class OrderService {
 
-    private final OrderRepository repo;
+    private final OrderStore store;
     private final ApplicationEventPublisher publisher;
-
-    public OrderService(OrderRepository repo, ApplicationEventPublisher publisher) {
-        this.repo = repo;
+    private final TransactionOperations tx;
+    private final TransactionOperations readTx;
+    private final GroupCommitOrderCreator groupCommit;
+    private final OrderStatusHistoryRepository history;
+
+    public OrderService(OrderStore store, ApplicationEventPublisher publisher,
+                        PlatformTransactionManager txManager, ObjectProvider<GroupCommitOrderCreator> groupCommit,
+                        OrderStatusHistoryRepository history) {
+        this.store = store;
+        this.history = history;
         this.publisher = publisher;
+        // the memory engine never touches the database, so it must not check out a connection per call
+        if (store.usesTransactionManager()) {
+            this.tx = new TransactionTemplate(txManager);
+            TransactionTemplate readOnly = new TransactionTemplate(txManager);
+            readOnly.setReadOnly(true);
+            this.readTx = readOnly;
+        } else {
+            this.tx = TransactionOperations.withoutTransaction();
+            this.readTx = TransactionOperations.withoutTransaction();
+        }
+        this.groupCommit = groupCommit.getIfAvailable();
     }
 
-    @Transactional
+    // Not @Transactional: in group-commit mode the caller only waits, so it must not hold a connection.
     public Order create(String customerId) {
-        Order saved = repo.save(new Order(customerId));
-        publisher.publishEvent(new OrderCreatedEvent(saved.getId()));
-        return saved;
+        if (groupCommit != null) {
+            return groupCommit.create(customerId);
+        }
+        return tx.execute(status -> {
+            Order saved = store.create(customerId);
+            publisher.publishEvent(new OrderCreatedEvent(saved.getId(), saved.getCreatedAt()));
+            return saved;
+        });
     }
 
-    @Transactional(readOnly = true)
     public Order get(UUID id) {
-        return repo.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+        return readTx.execute(status -> store.findById(id).orElseThrow(() -> new OrderNotFoundException(id)));
     }
 
-    @Transactional
     public Order updateStatus(UUID id, OrderStatus newStatus) {
-        Order o = repo.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+        return tx.execute(status -> {
+            Order o = store.findByIdForUpdate(id).orElseThrow(() -> new OrderNotFoundException(id));
 
-        OrderStatus current = o.getStatus();
-        validateTransition(id, current, newStatus);
+            OrderStatus current = o.getStatus();
+            validateTransition(id, current, newStatus);
+            if (current == newStatus) {
+                return o; // nothing changes, so nothing to store or announce
+            }
 
-        o.setStatus(newStatus);
-        Order saved = repo.save(o);
+            Order saved = store.updateStatus(o, newStatus);
 
-        publisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), current, newStatus));
-        return saved;
+            publisher.publishEvent(new OrderStatusChangedEvent(saved.getId(), current, newStatus, saved.getUpdatedAt()));
+            return saved;
+        });
     }
 
-    @Transactional(readOnly = true)
-    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
-        Specification<Order> spec = Specification.<Order>allOf();
-
-        if (status != null) spec = spec.and(OrderSpecifications.statusEquals(status));
-        if (from != null) spec = spec.and(OrderSpecifications.createdAtGte(from));
-        if (to != null) spec = spec.and(OrderSpecifications.createdAtLte(to));
+    /** Status changes oldest first. Written behind the request, so the latest change may not be listed yet. */
+    // not readOnly: with routing on, read-only transactions go to a replica, and replicas only carry orders
+    @Transactional
+    public List<OrderStatusHistory> history(UUID id) {
+        List<OrderStatusHistory> changes = history.findByOrderIdOrderByChangedAtAscIdAsc(id);
+        if (changes.isEmpty() && store.findUpdatedAt(id).isEmpty()) {
+            throw new OrderNotFoundException(id);
+        }
+        return changes;
+    }
 
-        return repo.findAll(spec, pageable);
+    public Page<Order> search(OrderStatus status, Instant from, Instant to, Pageable pageable) {
+        return readTx.execute(txStatus -> store.search(status, from, to, pageable));
     }
 
     private void validateTransition(UUID id, OrderStatus from, OrderStatus to) {
@@ -0,0 +1,43 @@
+package com.sinik.orderapimanagement;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** No admin credentials configured: there is no admin user and /admin/** is closed to everyone. */
+@SpringBootTest(properties = {"admin.username=", "admin.password="})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminAccessTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void formerDefaultAdmin_isNotAUser() throws Exception {
+        mockMvc.perform(get("/admin/dead-letters").with(httpBasic("admin", "admin")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminEndpoints_areDenied_evenToAuthenticatedUsers() throws Exception {
+        mockMvc.perform(get("/admin/dead-letters").with(httpBasic("user", "password")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/dead-letters/replay").with(httpBasic("user", "password")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void orders_stillWork() throws Exception {
+        mockMvc.perform(get("/orders").with(httpBasic("user", "password")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,134 @@
+package com.sinik.orderapimanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.sinik.orderapimanagement.SqlBudgetAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void getById_withMatchingETag_returns304FromOneQuery_untilOrderChanges() throws Exception {
+        String id = createOrder();
+        String etag = mockMvc.perform(get("/orders/{id}", id).with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+        assertStatements(1, () -> mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+
+        mockMvc.perform(patch("/orders/{id}/status", id)
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        String[] newEtag = new String[1];
+        assertStatements(1, () -> newEtag[0] = mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+        assertThat(newEtag[0]).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getById_jsonETag_doesNotRevalidateCborRequest_andResponsesVaryByAccept() throws Exception {
+        String id = createOrder();
+        String jsonEtag = mockMvc.perform(get("/orders/{id}", id).with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String cborEtag = mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+
+        mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void getById_withoutOrWithWildcardAccept_returnsJson_taggedAsJson() throws Exception {
+        String id = createOrder();
+        String defaultEtag = mockMvc.perform(get("/orders/{id}", id).with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(defaultEtag).endsWith("-json\"");
+
+        mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, defaultEtag));
+    }
+
+    @Test
+    void getById_conditionalOnMissingOrder_returns404() throws Exception {
+        mockMvc.perform(get("/orders/{id}", "00000000-0000-0000-0000-000000000000")
+                        .with(httpBasic("user", "password"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"x\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void search_returnsWeakETag_and304WhenPageUnchanged() throws Exception {
+        createOrder();
+        String etag = mockMvc.perform(get("/orders").with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        mockMvc.perform(get("/orders")
+                        .with(httpBasic("user", "password"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String createOrder() throws Exception {
+        String body = mockMvc.perform(post("/orders")
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":\"etag\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+}
@@ -0,0 +1,103 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.repo.OrderRepository;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput vs latency of order creation against an H2 file database, with one
+ * transaction per create compared to group commit. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/benchmark/group-commit;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=64",
+        "order.group-commit.enabled=true",
+        "order.group-commit.max-batch-size=64",
+        "order.group-commit.max-delay=2ms"
+})
+@ActiveProfiles("test")
+class GroupCommitBenchmarkTest {
+
+    private static final int OPS_PER_RUN = 4_000;
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    PlatformTransactionManager txManager;
+
+    @Test
+    void createThroughput_singleCommitVsGroupCommit() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        Supplier<Order> singleCommit = () -> tx.execute(status -> orderRepository.save(new Order("bench")));
+        Supplier<Order> groupCommit = () -> orderService.create("bench");
+
+        // warm-up
+        run(16, singleCommit);
+        run(16, groupCommit);
+
+        System.out.printf("%-14s %8s %12s %10s %10s%n", "mode", "clients", "ops/s", "p50 us", "p99 us");
+        for (int clients : new int[]{1, 16, 256}) {
+            print("single-commit", clients, run(clients, singleCommit));
+            print("group-commit", clients, run(clients, groupCommit));
+        }
+    }
+
+    private static Result run(int clients, Supplier<Order> create) throws Exception {
+        int perClient = Math.max(1, OPS_PER_RUN / clients);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    long[] latencies = new long[perClient];
+                    for (int i = 0; i < perClient; i++) {
+                        long t0 = System.nanoTime();
+                        assertThat(create.get().getId()).isNotNull();
+                        latencies[i] = System.nanoTime() - t0;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[clients * perClient];
+            int offset = 0;
+            for (Future<long[]> f : futures) {
+                long[] latencies = f.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(all);
+            return new Result(all.length * 1_000_000_000L / elapsed,
+                    all[all.length / 2] / 1_000, all[(int) (all.length * 0.99)] / 1_000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void print(String mode, int clients, Result r) {
+        System.out.printf("%-14s %8d %12d %10d %10d%n", mode, clients, r.opsPerSecond(), r.p50Micros(), r.p99Micros());
+    }
+
+    private record Result(long opsPerSecond, long p50Micros, long p99Micros) {}
+}
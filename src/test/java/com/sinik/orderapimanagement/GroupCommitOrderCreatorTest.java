@@ -0,0 +1,81 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.repo.OrderStore;
+import com.sinik.orderapimanagement.service.GroupCommitOrderCreator;
+import com.sinik.orderapimanagement.service.GroupCommitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitOrderCreatorTest {
+
+    private final OrderStore store = mock(OrderStore.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private GroupCommitOrderCreator creator;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (creator != null) {
+            creator.stop();
+        }
+    }
+
+    @Test
+    void callerTimingOutWhileQueued_isWithdrawn_andNeverInserted() throws Exception {
+        CountDownLatch firstBatchRunning = new CountDownLatch(1);
+        when(store.createAll(any())).thenAnswer(inv -> {
+            firstBatchRunning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<String> customerIds = inv.getArgument(0);
+            return customerIds.stream().map(GroupCommitOrderCreatorTest::order).toList();
+        });
+        creator = creator(Duration.ofMillis(200));
+
+        // holds the flusher in its first batch, so the next create stays queued
+        CompletableFuture<Order> first = CompletableFuture.supplyAsync(() -> creator.create("first"));
+        assertThat(firstBatchRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> creator.create("late"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("did not complete within");
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getCustomerId()).isEqualTo("first");
+        creator.stop();
+        creator = null;
+        verify(store, never()).createAll(List.of("late"));
+    }
+
+    private GroupCommitOrderCreator creator(Duration commitTimeout) {
+        GroupCommitOrderCreator created = new GroupCommitOrderCreator(store, mock(ApplicationEventPublisher.class),
+                mock(PlatformTransactionManager.class),
+                new GroupCommitProperties(true, 64, Duration.ofMillis(1), 100, commitTimeout));
+        created.start();
+        return created;
+    }
+
+    private static Order order(String customerId) {
+        Instant now = Instant.now();
+        return Order.restore(UUID.randomUUID(), OrderStatus.CREATED, customerId, now, now);
+    }
+}
@@ -0,0 +1,134 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.error.InvalidStatusTransitionException;
+import com.sinik.orderapimanagement.history.OrderStatusHistoryRepository;
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import com.sinik.orderapimanagement.repo.memory.InMemoryOrderStore;
+import com.sinik.orderapimanagement.repo.memory.MemoryStoreProperties;
+import com.sinik.orderapimanagement.service.GroupCommitOrderCreator;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class InMemoryOrderStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restart_replaysSnapshotAndLog() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofMegabytes(1));
+        Order a = store.create("a");
+        Order b = store.create("b");
+        store.snapshot();
+        store.updateStatus(a, OrderStatus.COMPLETED);
+        Order c = store.create("c");
+        store.destroy();
+
+        InMemoryOrderStore reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.findById(a.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(reopened.findById(b.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.CREATED);
+        assertThat(reopened.findById(c.getId())).get().extracting(Order::getCustomerId).isEqualTo("c");
+        reopened.destroy();
+    }
+
+    @Test
+    void fullSegments_rollOver_andStillReplay() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofKilobytes(1));
+        for (int i = 0; i < 100; i++) {
+            store.create("cust-" + i);
+        }
+        store.destroy();
+
+        InMemoryOrderStore reopened = open(DataSize.ofKilobytes(1));
+        assertThat(reopened.search(null, null, null, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(100);
+        reopened.destroy();
+    }
+
+    @Test
+    void staleStatus_isRejected() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofMegabytes(1));
+        Order order = store.create("x");
+        store.updateStatus(order, OrderStatus.CANCELLED);
+
+        // `order` still says CREATED: a concurrent writer already moved it on
+        assertThatThrownBy(() -> store.updateStatus(order, OrderStatus.COMPLETED))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        store.destroy();
+    }
+
+    @Test
+    void search_usesStatusAndCreatedAtIndex() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 10; i++) {
+            Order o = store.create("s" + i);
+            if (i % 2 == 0) store.updateStatus(o, OrderStatus.COMPLETED);
+            Thread.sleep(1); // distinct createdAt values
+        }
+
+        Page<Order> page = store.search(OrderStatus.COMPLETED, null, null,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(Order::getCustomerId).containsExactly("s8", "s6", "s4");
+        store.destroy();
+    }
+
+    @Test
+    void oversizedCustomerId_isRejected_andLogStaysReadable() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofMegabytes(1));
+        Order before = store.create("before");
+        assertThatThrownBy(() -> store.create("x".repeat(Short.MAX_VALUE + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Order after = store.create("after");
+        store.destroy();
+
+        InMemoryOrderStore reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.findById(before.getId())).isPresent();
+        assertThat(reopened.findById(after.getId())).get().extracting(Order::getCustomerId).isEqualTo("after");
+        reopened.destroy();
+    }
+
+    @Test
+    void orderService_onMemoryEngine_neverUsesTheTransactionManager() throws Exception {
+        InMemoryOrderStore store = open(DataSize.ofMegabytes(1));
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        OrderService service = new OrderService(store, publisher, txManager,
+                new StaticListableBeanFactory().getBeanProvider(GroupCommitOrderCreator.class),
+                mock(OrderStatusHistoryRepository.class));
+
+        Order order = service.create("no-tx");
+        service.updateStatus(order.getId(), OrderStatus.COMPLETED);
+        service.get(order.getId());
+        service.search(null, null, null, PageRequest.of(0, 10));
+
+        verifyNoInteractions(txManager);
+        verify(publisher).publishEvent(any(OrderStatusChangedEvent.class));
+        store.destroy();
+    }
+
+    private InMemoryOrderStore open(DataSize segmentSize) {
+        return new InMemoryOrderStore(new MemoryStoreProperties(
+                dir.toString(), segmentSize, Duration.ofMillis(100), Duration.ofMinutes(5)));
+    }
+}
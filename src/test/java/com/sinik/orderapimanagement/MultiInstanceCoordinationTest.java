@@ -0,0 +1,143 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.coordination.LeaseManager;
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.history.OrderStatusHistoryRepository;
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetter;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterStore;
+import com.sinik.orderapimanagement.repo.OrderRepository;
+import com.sinik.orderapimanagement.service.OrderExpiryJob;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances sharing one H2 database, as two nodes would share Postgres.
+ */
+class MultiInstanceCoordinationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start("node-a");
+        nodeB = start("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    @Test
+    void expiry_onBothNodes_splitsTheBacklog_andCancelsEachOrderOnce() throws Exception {
+        OrderService orders = nodeA.getBean(OrderService.class);
+        List<Order> created = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            created.add(orders.create("multi-" + i));
+        }
+        Thread.sleep(5);
+
+        CompletableFuture<Integer> onA = CompletableFuture.supplyAsync(() -> nodeA.getBean(OrderExpiryJob.class).expireOnce());
+        CompletableFuture<Integer> onB = CompletableFuture.supplyAsync(() -> nodeB.getBean(OrderExpiryJob.class).expireOnce());
+
+        assertThat(onA.get() + onB.get()).isEqualTo(40);
+        OrderRepository repo = nodeB.getBean(OrderRepository.class);
+        for (Order order : created) {
+            assertThat(repo.findById(order.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.CANCELLED);
+        }
+        // one history row per order: no order was cancelled by both nodes
+        OrderStatusHistoryRepository history = nodeA.getBean(OrderStatusHistoryRepository.class);
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(history.count()).isEqualTo(40));
+    }
+
+    @Test
+    void deadLetterClaims_areDisjointAcrossNodes() {
+        DeadLetterStore storeA = nodeA.getBean(DeadLetterStore.class);
+        DeadLetterStore storeB = nodeB.getBean(DeadLetterStore.class);
+        for (int i = 0; i < 20; i++) {
+            storeA.record("webhook", new NotificationMessage("ORDER_CREATED", Instant.now(), Map.of("n", i)),
+                    new IllegalStateException("down"));
+        }
+        long maxId = storeA.maxId();
+
+        List<DeadLetter> claimedByA = storeA.claimBatch(0, maxId, 12, Duration.ofMinutes(1));
+        List<DeadLetter> claimedByB = storeB.claimBatch(0, maxId, 12, Duration.ofMinutes(1));
+
+        assertThat(claimedByA).hasSize(12);
+        assertThat(claimedByB).hasSize(8);
+        Set<Long> ids = new HashSet<>();
+        claimedByA.forEach(d -> ids.add(d.getId()));
+        claimedByB.forEach(d -> ids.add(d.getId()));
+        assertThat(ids).hasSize(20);
+        assertThat(claimedByB).allSatisfy(d -> assertThat(d.getClaimedBy()).isEqualTo("node-b"));
+    }
+
+    @Test
+    void failedLetter_staysClaimedUntilItsNodeReleasesClaims() {
+        DeadLetterStore storeA = nodeA.getBean(DeadLetterStore.class);
+        DeadLetterStore storeB = nodeB.getBean(DeadLetterStore.class);
+        storeA.record("webhook", new NotificationMessage("ORDER_CREATED", Instant.now(), Map.of("n", 0)),
+                new IllegalStateException("down"));
+        long maxId = storeA.maxId();
+
+        DeadLetter letter = storeA.claimBatch(maxId - 1, maxId, 1, Duration.ofMinutes(1)).get(0);
+        storeA.failedAgain(letter, new IllegalStateException("still down"));
+        assertThat(storeB.claimBatch(maxId - 1, maxId, 1, Duration.ofMinutes(1))).isEmpty();
+
+        storeA.releaseClaims();
+        assertThat(storeB.claimBatch(maxId - 1, maxId, 1, Duration.ofMinutes(1)))
+                .extracting(DeadLetter::getId).containsExactly(letter.getId());
+    }
+
+    @Test
+    void lease_isHeldByOneNodeUntilReleasedOrExpired() throws Exception {
+        LeaseManager leasesA = nodeA.getBean(LeaseManager.class);
+        LeaseManager leasesB = nodeB.getBean(LeaseManager.class);
+
+        assertThat(leasesA.tryAcquire("test-job", Duration.ofMinutes(1))).isTrue();
+        assertThat(leasesB.tryAcquire("test-job", Duration.ofMinutes(1))).isFalse();
+        assertThat(leasesA.tryAcquire("test-job", Duration.ofMinutes(1))).as("renewal").isTrue();
+
+        leasesA.release("test-job");
+        assertThat(leasesB.tryAcquire("test-job", Duration.ofMillis(50))).isTrue();
+        Thread.sleep(100);
+        assertThat(leasesA.tryAcquire("test-job", Duration.ofMinutes(1))).as("expired").isTrue();
+    }
+
+    private static ConfigurableApplicationContext start(String nodeId) {
+        return new SpringApplicationBuilder(OrderApiManagementApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:multi_node;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "coordination.node-id=" + nodeId,
+                        "order.expiry.enabled=true",
+                        "order.expiry.ttl=0s",
+                        "order.expiry.chunk-size=5",
+                        "order.expiry.pause-between-chunks=0ms",
+                        "order.expiry.interval=1h")
+                .run();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.notification.NotificationRouter;
+import com.sinik.orderapimanagement.notification.OrderedNotificationDispatcher;
+import com.sinik.orderapimanagement.notification.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NotificationBackpressureTest {
+
+    @TempDir
+    Path dir;
+
+    private final NotificationRouter router = mock(NotificationRouter.class);
+    private final List<NotificationMessage> delivered = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void spillToDisk_keepsEveryMessageInOrder() throws Exception {
+        blockFirstDelivery();
+        OrderedNotificationDispatcher dispatcher = dispatcher(OverflowPolicy.SPILL_TO_DISK);
+        UUID orderId = UUID.randomUUID();
+
+        for (int i = 1; i <= 20; i++) {
+            dispatcher.dispatch(orderId, message(i));
+        }
+        assertThat(dispatcher.spilled()).isPositive();
+        release.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 20);
+        assertThat(delivered).extracting(m -> m.payload().get("n")).containsExactly(
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20);
+        assertThat(delivered).as("sequences survive the spill file")
+                .extracting(NotificationMessage::sequence).startsWith(1L, 2L, 3L).endsWith(20L);
+        assertThat(dispatcher.spilled()).isZero();
+        dispatcher.destroy();
+    }
+
+    @Test
+    void block_makesTheCallerWait_andKeepsOrder() throws Exception {
+        blockFirstDelivery();
+        OrderedNotificationDispatcher dispatcher = dispatcher(OverflowPolicy.BLOCK);
+        UUID orderId = UUID.randomUUID();
+
+        dispatcher.dispatch(orderId, message(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.queueDepth() == 0); // 1 is in flight
+        dispatcher.dispatch(orderId, message(2));
+        dispatcher.dispatch(orderId, message(3));
+        CompletableFuture<Void> fourth = CompletableFuture.runAsync(() -> dispatcher.dispatch(orderId, message(4)));
+
+        Thread.sleep(200);
+        assertThat(fourth).as("waits while the queue is full").isNotDone();
+        release.countDown();
+
+        fourth.get(5, TimeUnit.SECONDS);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 4);
+        assertThat(delivered).extracting(m -> m.payload().get("n")).containsExactly(1, 2, 3, 4);
+        dispatcher.destroy();
+    }
+
+    @Test
+    void dropOldest_deadLettersTheDroppedMessage() throws Exception {
+        blockFirstDelivery();
+        OrderedNotificationDispatcher dispatcher = dispatcher(OverflowPolicy.DROP_OLDEST);
+        UUID orderId = UUID.randomUUID();
+
+        dispatcher.dispatch(orderId, message(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.queueDepth() == 0); // 1 is in flight
+        for (int i = 2; i <= 5; i++) {
+            dispatcher.dispatch(orderId, message(i));
+        }
+        release.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 3);
+        assertThat(delivered).extracting(m -> m.payload().get("n")).containsExactly(1, 4, 5);
+        verify(router).deadLetterAllEnabled(argThat(m -> m.payload().get("n").equals(2)), any());
+        verify(router).deadLetterAllEnabled(argThat(m -> m.payload().get("n").equals(3)), any());
+        dispatcher.destroy();
+    }
+
+    private void blockFirstDelivery() {
+        doAnswer(inv -> {
+            NotificationMessage message = inv.getArgument(0);
+            if (delivered.isEmpty()) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            delivered.add(message);
+            return null;
+        }).when(router).notifyAllEnabled(any());
+    }
+
+    private OrderedNotificationDispatcher dispatcher(OverflowPolicy policy) {
+        NotificationProperties props = new NotificationProperties(List.of("webhook"), null, null, null, null,
+                new NotificationProperties.Dispatch(1, 2, policy, dir.toString()), null, null, null, null);
+        return new OrderedNotificationDispatcher(router, props, JsonMapper.builder().build(),
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static NotificationMessage message(int n) {
+        return new NotificationMessage("ORDER_STATUS_CHANGED", Instant.now(), Map.of("n", n), n);
+    }
+}
@@ -0,0 +1,126 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.notification.ChannelCircuitBreaker;
+import com.sinik.orderapimanagement.notification.NotificationChannel;
+import com.sinik.orderapimanagement.notification.NotificationDeliveryException;
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.notification.NotificationRouter;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationCircuitBreakerTest {
+
+    private final NotificationChannel webhook = mock(NotificationChannel.class);
+    private final DeadLetterStore deadLetters = mock(DeadLetterStore.class);
+
+    @Test
+    void failingChannel_opensCircuit_defersMessages_andDrainsThemAfterRecovery() throws Exception {
+        when(webhook.name()).thenReturn("webhook");
+        doThrow(new NotificationDeliveryException("webhook", "HTTP 500", null)).when(webhook).send(any());
+        NotificationRouter router = router(Duration.ofMillis(200));
+
+        for (int i = 0; i < 4; i++) {
+            router.notifyAllEnabled(message(i));
+        }
+        assertThat(router.circuitState("webhook")).isEqualTo(ChannelCircuitBreaker.State.OPEN);
+        verify(deadLetters, times(4)).record(eq("webhook"), any(), any());
+
+        // open: not attempted, no retries spent
+        router.notifyAllEnabled(message(4));
+        router.notifyAllEnabled(message(5));
+        verify(webhook, times(4)).send(any());
+        assertThat(router.deferredCount("webhook")).isEqualTo(2);
+
+        doNothing().when(webhook).send(any());
+        router.drainDeferred();
+        assertThat(router.deferredCount("webhook")).as("still open").isEqualTo(2);
+
+        Thread.sleep(250);
+        router.drainDeferred();
+        assertThat(router.deferredCount("webhook")).isZero();
+        assertThat(router.circuitState("webhook")).isEqualTo(ChannelCircuitBreaker.State.CLOSED);
+        verify(webhook, times(6)).send(any());
+    }
+
+    @Test
+    void deferredQueueOverflow_isDeadLettered() {
+        when(webhook.name()).thenReturn("webhook");
+        doThrow(new NotificationDeliveryException("webhook", "HTTP 500", null)).when(webhook).send(any());
+        NotificationRouter router = router(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4 + 3 + 1; i++) {
+            router.notifyAllEnabled(message(i));
+        }
+
+        assertThat(router.deferredCount("webhook")).isEqualTo(3);
+        verify(deadLetters, times(5)).record(eq("webhook"), any(), any());
+    }
+
+    @Test
+    void messagesDeferredBehindABacklog_drainRightAway_inOrder() throws Exception {
+        when(webhook.name()).thenReturn("webhook");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> sent = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            NotificationMessage m = inv.getArgument(0);
+            if (sent.isEmpty()) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            sent.add(m.payload().get("n"));
+            return null;
+        }).when(webhook).send(any());
+        // one call at a time and a drain interval far beyond the test: only the immediate drain can send 1 and 2
+        NotificationRouter router = router(Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> router.notifyAllEnabled(message(0)));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> mockingDetails(webhook).getInvocations().stream()
+                .anyMatch(i -> i.getMethod().getName().equals("send")));
+        router.notifyAllEnabled(message(1)); // bulkhead full: deferred
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        router.notifyAllEnabled(message(2)); // bulkhead free again, but 1 is still queued: goes behind it
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> sent.size() == 3);
+        assertThat(sent).containsExactly(0, 1, 2);
+        assertThat(router.deferredCount("webhook")).isZero();
+        router.destroy();
+    }
+
+    private NotificationRouter router(Duration openDuration) {
+        return router(openDuration, 2, Duration.ofSeconds(1));
+    }
+
+    private NotificationRouter router(Duration openDuration, int maxConcurrentCalls, Duration drainInterval) {
+        NotificationProperties props = new NotificationProperties(List.of("webhook"), null, null, null, null, null, null, null,
+                new NotificationProperties.Breaker(4, 4, 50, Duration.ofSeconds(5), 100, openDuration, 1, 3, drainInterval),
+                new NotificationProperties.Bulkhead(maxConcurrentCalls, Duration.ZERO));
+        return new NotificationRouter(props, List.of(webhook), deadLetters);
+    }
+
+    private static NotificationMessage message(int n) {
+        return new NotificationMessage("ORDER_CREATED", Instant.now(), Map.of("n", n));
+    }
+}
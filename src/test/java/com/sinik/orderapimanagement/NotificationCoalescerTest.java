@@ -0,0 +1,139 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.notification.NotificationCoalescer;
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.notification.OrderedNotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class NotificationCoalescerTest {
+
+    private final OrderedNotificationDispatcher dispatcher = mock(OrderedNotificationDispatcher.class);
+    private NotificationCoalescer coalescer;
+
+    @AfterEach
+    void stop() {
+        if (coalescer != null) {
+            coalescer.destroy();
+        }
+    }
+
+    @Test
+    void createAndCompleteWithinWindow_goOutAsOneCreatedWithFinalStatus() {
+        coalescer = coalescer(Duration.ofMillis(200), 100);
+        UUID id = UUID.randomUUID();
+
+        coalescer.submit(id, created(id));
+        coalescer.submit(id, changed(id, "CREATED", "COMPLETED"));
+
+        NotificationMessage sent = sentFor(id);
+        assertThat(sent.type()).isEqualTo("ORDER_CREATED");
+        assertThat(sent.payload())
+                .containsEntry("orderId", id)
+                .containsEntry("status", "COMPLETED")
+                .containsEntry("coalesced", List.of("ORDER_CREATED", "ORDER_STATUS_CHANGED"));
+    }
+
+    @Test
+    void severalStatusChanges_keepFirstFrom_andLastTo() {
+        coalescer = coalescer(Duration.ofMillis(200), 100);
+        UUID id = UUID.randomUUID();
+
+        coalescer.submit(id, changed(id, "CREATED", "COMPLETED"));
+        coalescer.submit(id, changed(id, "COMPLETED", "CANCELLED"));
+
+        NotificationMessage sent = sentFor(id);
+        assertThat(sent.type()).isEqualTo("ORDER_STATUS_CHANGED");
+        assertThat(sent.payload()).containsEntry("from", "CREATED").containsEntry("to", "CANCELLED");
+    }
+
+    @Test
+    void singleEvent_isSentUnchanged_afterTheWindow() {
+        coalescer = coalescer(Duration.ofMillis(200), 100);
+        UUID id = UUID.randomUUID();
+        NotificationMessage only = created(id);
+
+        coalescer.submit(id, only);
+
+        verify(dispatcher, never()).dispatch(eq(id), any());
+        assertThat(sentFor(id)).isSameAs(only);
+    }
+
+    @Test
+    void newOrders_bypassCoalescing_onceMaxPendingOrdersIsReached() {
+        coalescer = coalescer(Duration.ofHours(1), 1);
+        UUID pending = UUID.randomUUID();
+        UUID overflow = UUID.randomUUID();
+        NotificationMessage overflowMessage = created(overflow);
+
+        coalescer.submit(pending, created(pending));
+        coalescer.submit(overflow, overflowMessage);
+
+        verify(dispatcher).dispatch(overflow, overflowMessage);
+        verify(dispatcher, never()).dispatch(eq(pending), any());
+    }
+
+    @Test
+    void pendingOrder_keepsCoalescing_whenFull_soItsLaterEventCannotOvertakeTheEarlierOne() {
+        coalescer = coalescer(Duration.ofHours(1), 1);
+        UUID id = UUID.randomUUID();
+
+        coalescer.submit(id, created(id));
+        coalescer.submit(id, changed(id, "CREATED", "CANCELLED")); // map is full, but this order is already in it
+
+        verify(dispatcher, never()).dispatch(eq(id), any());
+        coalescer.destroy();
+        NotificationMessage sent = sentFor(id);
+        assertThat(sent.payload()).containsEntry("status", "CANCELLED");
+    }
+
+    @Test
+    void destroy_flushesPendingWindows() {
+        coalescer = coalescer(Duration.ofHours(1), 100);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        coalescer.submit(a, created(a));
+        coalescer.submit(b, created(b));
+
+        coalescer.destroy();
+
+        verify(dispatcher).dispatch(eq(a), any());
+        verify(dispatcher).dispatch(eq(b), any());
+    }
+
+    private NotificationMessage sentFor(UUID id) {
+        ArgumentCaptor<NotificationMessage> captor = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(dispatcher, timeout(2_000)).dispatch(eq(id), captor.capture());
+        return captor.getValue();
+    }
+
+    private NotificationCoalescer coalescer(Duration window, int maxPendingOrders) {
+        NotificationProperties props = new NotificationProperties(List.of("webhook"), null, null, null, null, null,
+                new NotificationProperties.Coalescing(true, window, maxPendingOrders), null, null, null);
+        return new NotificationCoalescer(dispatcher, props);
+    }
+
+    private static NotificationMessage created(UUID id) {
+        return new NotificationMessage("ORDER_CREATED", Instant.now(), Map.of("orderId", id));
+    }
+
+    private static NotificationMessage changed(UUID id, String from, String to) {
+        return new NotificationMessage("ORDER_STATUS_CHANGED", Instant.now(), Map.of("orderId", id, "from", from, "to", to));
+    }
+}
@@ -0,0 +1,149 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.notification.NotificationCoalescer;
+import com.sinik.orderapimanagement.notification.NotificationMessage;
+import com.sinik.orderapimanagement.notification.NotificationProperties;
+import com.sinik.orderapimanagement.notification.NotificationRouter;
+import com.sinik.orderapimanagement.notification.OrderNotificationListener;
+import com.sinik.orderapimanagement.notification.OrderedNotificationDispatcher;
+import com.sinik.orderapimanagement.notification.OverflowPolicy;
+import com.sinik.orderapimanagement.notification.event.OrderCreatedEvent;
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NotificationOrderingTest {
+
+    private final NotificationRouter router = mock(NotificationRouter.class);
+    private final Map<UUID, Queue<NotificationMessage>> deliveredByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private OrderedNotificationDispatcher dispatcher;
+
+    @AfterEach
+    void stop() throws Exception {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void eachOrdersEvents_arriveInDispatchOrder_withTheirSequenceUnchanged() throws Exception {
+        doAnswer(inv -> {
+            NotificationMessage message = inv.getArgument(0);
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                Thread.sleep(1); // uneven channel latency, so stripes run at different speeds
+            }
+            record(message);
+            return null;
+        }).when(router).notifyAllEnabled(any());
+        dispatcher = dispatcher(4, 100_000);
+
+        int orders = 200;
+        int eventsPerOrder = 20;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        // eight producers, each owning a slice of the orders and interleaving their events
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        for (int p = 0; p < 8; p++) {
+            List<UUID> slice = ids.subList(p * orders / 8, (p + 1) * orders / 8);
+            producers.submit(() -> {
+                for (int n = 1; n <= eventsPerOrder; n++) {
+                    for (UUID id : slice) {
+                        dispatcher.dispatch(id, message(id, n));
+                    }
+                }
+            });
+        }
+        producers.shutdown();
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> delivered.get() == orders * eventsPerOrder);
+        for (UUID id : ids) {
+            List<NotificationMessage> messages = List.copyOf(deliveredByOrder.get(id));
+            assertThat(messages).extracting(m -> m.payload().get("n"))
+                    .as("order of %s", id)
+                    .containsExactly(IntStream.rangeClosed(1, eventsPerOrder).boxed().toArray());
+            assertThat(messages).extracting(NotificationMessage::sequence)
+                    .as("sequences of %s", id)
+                    .containsExactly(LongStream.rangeClosed(1, eventsPerOrder).boxed().toArray(Long[]::new));
+        }
+    }
+
+    @Test
+    void sequence_comesFromTheOrdersUpdatedAt_soItKeepsGrowingAcrossRestarts() {
+        UUID id = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-01-20T04:19:53.691123Z");
+        Instant changedAt = createdAt.plusMillis(5);
+
+        OrderedNotificationDispatcher beforeRestart = mock(OrderedNotificationDispatcher.class);
+        listener(beforeRestart).onOrderCreated(new OrderCreatedEvent(id, createdAt));
+        OrderedNotificationDispatcher afterRestart = mock(OrderedNotificationDispatcher.class);
+        listener(afterRestart).onOrderStatusChanged(
+                new OrderStatusChangedEvent(id, OrderStatus.CREATED, OrderStatus.COMPLETED, changedAt));
+
+        long created = sentBy(beforeRestart, id).sequence();
+        long changed = sentBy(afterRestart, id).sequence();
+        assertThat(created).isEqualTo(1_768_882_793_691_123L);
+        assertThat(changed).isGreaterThan(created);
+    }
+
+    private void record(NotificationMessage message) {
+        UUID orderId = (UUID) message.payload().get("orderId");
+        deliveredByOrder.computeIfAbsent(orderId, k -> new ConcurrentLinkedQueue<>()).add(message);
+        delivered.incrementAndGet();
+    }
+
+    private static OrderNotificationListener listener(OrderedNotificationDispatcher dispatcher) {
+        return new OrderNotificationListener(dispatcher,
+                new DefaultListableBeanFactory().getBeanProvider(NotificationCoalescer.class));
+    }
+
+    private static NotificationMessage sentBy(OrderedNotificationDispatcher dispatcher, UUID id) {
+        ArgumentCaptor<NotificationMessage> captor = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(dispatcher).dispatch(eq(id), captor.capture());
+        return captor.getValue();
+    }
+
+    private OrderedNotificationDispatcher dispatcher(int stripes, int queueCapacity) {
+        NotificationProperties props = new NotificationProperties(List.of("webhook"), null, null, null, null,
+                new NotificationProperties.Dispatch(stripes, queueCapacity, OverflowPolicy.BLOCK, null),
+                null, null, null, null);
+        return new OrderedNotificationDispatcher(router, props, JsonMapper.builder().build(),
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static NotificationMessage message(UUID orderId, int n) {
+        return new NotificationMessage("ORDER_STATUS_CHANGED", Instant.now(), Map.of("orderId", orderId, "n", n), n);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.repo.OrderRepository;
+import com.sinik.orderapimanagement.repo.archive.OrderArchive;
+import com.sinik.orderapimanagement.repo.archive.OrderArchiver;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive_test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "order.archive.enabled=true",
+        "order.archive.min-age=0s",
+        "order.archive.chunk-size=2",
+        "order.archive.pause-between-chunks=0ms",
+        "order.archive.interval=1h"
+})
+@ActiveProfiles("test")
+class OrderArchiveTest {
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    OrderArchiver archiver;
+
+    @Test
+    void terminalOrders_moveToArchive_andStayReadable() throws Exception {
+        Instant start = Instant.now();
+        Order open = orderService.create("archive-open");
+        Order done1 = orderService.create("archive-done-1");
+        Order done2 = orderService.create("archive-done-2");
+        Order done3 = orderService.create("archive-done-3");
+        orderService.updateStatus(done1.getId(), OrderStatus.COMPLETED);
+        orderService.updateStatus(done2.getId(), OrderStatus.CANCELLED);
+        orderService.updateStatus(done3.getId(), OrderStatus.COMPLETED);
+        Thread.sleep(5);
+
+        assertThat(archiver.archiveOnce()).isEqualTo(3);
+
+        assertThat(orderRepository.findById(done1.getId())).isEmpty();
+        assertThat(orderRepository.findById(open.getId())).isPresent();
+        assertThat(orderService.get(done1.getId()).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+
+        Page<Order> all = orderService.search(null, start, null, PageRequest.of(0, 10, Sort.by("customerId")));
+        assertThat(all.getContent()).extracting(Order::getCustomerId)
+                .containsExactly("archive-done-1", "archive-done-2", "archive-done-3", "archive-open");
+        assertThat(all.getTotalElements()).isEqualTo(4);
+
+        Page<Order> completed = orderService.search(OrderStatus.COMPLETED, start, null, PageRequest.of(1, 1));
+        assertThat(completed.getContent()).hasSize(1);
+        assertThat(completed.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void archive_refusesToStartWithReadWriteRouting() {
+        assertThatThrownBy(() -> new OrderArchive(mock(JdbcTemplate.class), true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("datasource.routing.enabled");
+    }
+}
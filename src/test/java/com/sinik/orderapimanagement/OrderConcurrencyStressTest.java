@@ -0,0 +1,315 @@
+package com.sinik.orderapimanagement;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.notification.NotificationRouter;
+import com.sinik.orderapimanagement.notification.OrderedNotificationDispatcher;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetter;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterRepository;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+/**
+ * Hundreds of concurrent clients against the API and OrderService, with the webhook receiver
+ * slowed down or failing through WireMock. Checks invariants rather than timings, and prints
+ * throughput and latency for each scenario. Run with {@code ./mvnw test -Pstress}.
+ */
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress_test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "notification.enabled-channels=webhook",
+        "notification.webhook.path=/notify",
+        "notification.retry.max-attempts=2",
+        "notification.retry.initial-delay-ms=10",
+        "notification.retry.multiplier=1.0",
+        "notification.dispatch.stripes=4",
+        "notification.dispatch.queue-capacity=32",
+        "notification.breaker.window-size=20",
+        "notification.breaker.minimum-calls=10",
+        "notification.breaker.failure-rate-threshold=50",
+        "notification.breaker.slow-call-threshold=5s",
+        "notification.breaker.slow-call-rate-threshold=100",
+        "notification.breaker.open-duration=200ms",
+        "notification.breaker.half-open-calls=2",
+        "notification.breaker.deferred-capacity=100000",
+        "notification.breaker.drain-interval=100ms",
+        "notification.bulkhead.max-concurrent-calls=16",
+        "notification.bulkhead.max-wait=2s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderConcurrencyStressTest {
+
+    private static final Duration SETTLE = Duration.ofSeconds(60);
+    // generous: WireMock's request journal alone keeps every delivered body
+    private static final long MAX_HEAP_GROWTH = 128L * 1024 * 1024;
+
+    private static WireMockServer wireMock;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    DeadLetterRepository deadLetterRepository;
+    @Autowired
+    OrderedNotificationDispatcher dispatcher;
+    @Autowired
+    NotificationRouter router;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void wiremockProps(DynamicPropertyRegistry registry) {
+        ensureWireMockStarted();
+        registry.add("notification.webhook.base-url", () -> "http://localhost:" + wireMock.port());
+    }
+
+    private static synchronized void ensureWireMockStarted() {
+        if (wireMock != null && wireMock.isRunning()) return;
+        wireMock = new WireMockServer(WireMockConfiguration.options().dynamicPort().containerThreads(64));
+        wireMock.start();
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        if (wireMock != null) {
+            wireMock.stop();
+        }
+    }
+
+    @BeforeEach
+    void reset() {
+        wireMock.resetAll();
+        wireMock.stubFor(post(urlEqualTo("/notify")).willReturn(aResponse().withStatus(200)));
+        deadLetterRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentPatches_onTheSameOrder_applyExactlyOneTransition() throws Exception {
+        int orders = 100;
+        int clientsPerOrder = 8;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            ids.add(orderService.create("stress-patch-" + i).getId());
+        }
+
+        List<Runnable> patches = new ArrayList<>();
+        Map<Integer, AtomicInteger> statusCodes = new ConcurrentHashMap<>();
+        for (UUID id : ids) {
+            for (int c = 0; c < clientsPerOrder; c++) {
+                String target = c % 2 == 0 ? "COMPLETED" : "CANCELLED";
+                patches.add(() -> {
+                    MvcResult result = perform(() -> mockMvc.perform(patch("/orders/{id}/status", id)
+                            .with(httpBasic("user", "password"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"" + target + "\"}")).andReturn());
+                    statusCodes.computeIfAbsent(result.getResponse().getStatus(), k -> new AtomicInteger()).incrementAndGet();
+                });
+            }
+        }
+        report("concurrent PATCH", run(200, patches));
+
+        assertThat(statusCodes.keySet()).as("only 200 (winner or same-status no-op) and 409").isSubsetOf(200, 409);
+        for (UUID id : ids) {
+            assertThat(orderService.get(id).getStatus()).isIn(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+        }
+        Awaitility.await().atMost(SETTLE).untilAsserted(() -> {
+            Map<UUID, Long> changes = deliveredPerOrder("ORDER_STATUS_CHANGED");
+            for (UUID id : ids) {
+                assertThat(orderService.history(id)).as("history of %s", id).hasSize(1);
+                assertThat(changes.getOrDefault(id, 0L)).as("notifications for %s", id).isEqualTo(1);
+            }
+        });
+    }
+
+    @Test
+    void createsDuringWebhookOutage_notifyEachOrderExactlyOnce() throws Exception {
+        wireMock.resetAll();
+        wireMock.stubFor(post(urlEqualTo("/notify")).willReturn(aResponse().withStatus(503)));
+
+        int creates = 500;
+        List<UUID> ids = new ArrayList<>(Collections.nCopies(creates, null));
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < creates; i++) {
+            int index = i;
+            tasks.add(() -> ids.set(index, orderService.create("stress-outage-" + index).getId()));
+        }
+        report("create, webhook down", run(100, tasks));
+
+        wireMock.resetAll();
+        wireMock.stubFor(post(urlEqualTo("/notify")).willReturn(aResponse().withStatus(200)));
+
+        // every ORDER_CREATED ends up delivered (directly or from the deferred queue) or dead-lettered, never both
+        Awaitility.await().atMost(SETTLE).pollInterval(Duration.ofMillis(250)).untilAsserted(() -> {
+            Map<UUID, Long> delivered = deliveredPerOrder("ORDER_CREATED");
+            Map<UUID, Long> deadLettered = deadLetterRepository.findAll().stream()
+                    .filter(d -> d.getOrderId() != null)
+                    .collect(Collectors.groupingBy(DeadLetter::getOrderId, Collectors.counting()));
+            for (UUID id : ids) {
+                assertThat(delivered.getOrDefault(id, 0L) + deadLettered.getOrDefault(id, 0L))
+                        .as("deliveries + dead letters for %s", id).isEqualTo(1);
+            }
+        });
+    }
+
+    @Test
+    void slowWebhook_isAbsorbedByBackpressure_notTheDeferredQueue_andLosesNothing() throws Exception {
+        wireMock.resetAll();
+        wireMock.stubFor(post(urlEqualTo("/notify")).willReturn(aResponse().withStatus(200).withFixedDelay(20)));
+
+        // the stripe queues are bounded by construction; the breaker's deferred queue (capacity 100000)
+        // is what would grow if a slow receiver were treated as a failing one
+        AtomicInteger maxQueueDepth = new AtomicInteger();
+        AtomicInteger maxDeferred = new AtomicInteger();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (sampling.get()) {
+                maxQueueDepth.accumulateAndGet(dispatcher.queueDepth(), Math::max);
+                maxDeferred.accumulateAndGet(router.deferredCount("webhook"), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+        long heapBefore = usedHeapAfterGc();
+
+        int creates = 1_000;
+        List<UUID> ids = Collections.synchronizedList(new ArrayList<>());
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < creates; i++) {
+            int index = i;
+            tasks.add(() -> ids.add(orderService.create("stress-slow-" + index).getId()));
+        }
+        report("create, webhook slow", run(200, tasks));
+
+        Awaitility.await().atMost(SETTLE).untilAsserted(() -> {
+            Map<UUID, Long> delivered = deliveredPerOrder("ORDER_CREATED");
+            for (UUID id : ids) {
+                assertThat(delivered.getOrDefault(id, 0L)).as("deliveries for %s", id).isEqualTo(1);
+            }
+        });
+        sampling.set(false);
+        sampler.join();
+        long heapGrowth = usedHeapAfterGc() - heapBefore;
+
+        System.out.printf("%-22s max queue depth %d, max deferred %d, heap growth %d KiB%n",
+                "dispatch saturation", maxQueueDepth.get(), maxDeferred.get(), heapGrowth / 1024);
+        assertThat(maxDeferred.get()).as("messages deferred by the breaker").isZero();
+        assertThat(heapGrowth).as("heap growth").isLessThan(MAX_HEAP_GROWTH);
+        assertThat(dispatcher.queueDepth()).isZero();
+        assertThat(router.deferredCount("webhook")).isZero();
+    }
+
+    // ---------------- Helpers ----------------
+
+    /** Successful (2xx) webhook deliveries of one notification type, per order id. */
+    private Map<UUID, Long> deliveredPerOrder(String type) {
+        return wireMock.getAllServeEvents().stream()
+                .filter(e -> e.getResponse().getStatus() == 200)
+                .map(ServeEvent::getRequest)
+                .map(r -> objectMapper.readTree(r.getBodyAsString()))
+                .filter(body -> type.equals(body.get("type").asString()))
+                .map(body -> UUID.fromString(body.get("payload").get("orderId").asString()))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private static long[] run(int clients, Collection<Runnable> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long t0 = System.nanoTime();
+                    task.run();
+                    return System.nanoTime() - t0;
+                }));
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            long[] latencies = new long[futures.size() + 1];
+            for (int i = 0; i < futures.size(); i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            latencies[futures.size()] = System.nanoTime() - t0; // total, stripped in report()
+            return latencies;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void report(String scenario, long[] result) {
+        int ops = result.length - 1;
+        long total = result[ops];
+        long[] latencies = Arrays.copyOf(result, ops);
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %6d ops %10.0f ops/s  p50 %8.1f ms  p99 %8.1f ms%n", scenario, ops,
+                ops / (total / 1e9),
+                latencies[ops / 2] / 1e6,
+                latencies[Math.min(ops - 1, (int) (ops * 0.99))] / 1e6);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @FunctionalInterface
+    private interface MvcCall {
+        MvcResult call() throws Exception;
+    }
+
+    private static MvcResult perform(MvcCall call) {
+        try {
+            return call.call();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
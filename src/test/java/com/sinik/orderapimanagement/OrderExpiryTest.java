@@ -0,0 +1,57 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.history.OrderStatusHistory;
+import com.sinik.orderapimanagement.service.OrderExpiryJob;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expiry_test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "order.expiry.enabled=true",
+        "order.expiry.ttl=0s",
+        "order.expiry.chunk-size=2",
+        "order.expiry.pause-between-chunks=0ms",
+        "order.expiry.interval=1h"
+})
+@ActiveProfiles("test")
+class OrderExpiryTest {
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    OrderExpiryJob expiryJob;
+
+    @Test
+    void staleCreatedOrders_areCancelledInChunks_withEvents() throws Exception {
+        Order a = orderService.create("expiry-a");
+        Order b = orderService.create("expiry-b");
+        Order c = orderService.create("expiry-c");
+        Order done = orderService.create("expiry-done");
+        orderService.updateStatus(done.getId(), OrderStatus.COMPLETED);
+        Thread.sleep(5);
+
+        assertThat(expiryJob.expireOnce()).isEqualTo(3);
+
+        for (Order order : new Order[]{a, b, c}) {
+            assertThat(orderService.get(order.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        }
+        assertThat(orderService.get(done.getId()).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(expiryJob.expireOnce()).isZero();
+
+        // the published events reach the after-commit listeners, e.g. status history
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(orderService.history(a.getId()))
+                        .extracting(OrderStatusHistory::getFromStatus, OrderStatusHistory::getToStatus)
+                        .containsExactly(org.assertj.core.groups.Tuple.tuple(OrderStatus.CREATED, OrderStatus.CANCELLED)));
+    }
+}
@@ -2,6 +2,7 @@ package com.sinik.orderapimanagement;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sinik.orderapimanagement.notification.deadletter.DeadLetterRepository;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +18,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.Duration;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(properties = {
@@ -35,9 +39,12 @@ class OrderNotificationsTest {
 
     @Autowired
     MockMvc mockMvc;
+    @Autowired
+    DeadLetterRepository deadLetterRepository;
 
     @BeforeEach
     void resetWireMock() {
+        deadLetterRepository.deleteAll();
         wireMock.resetAll();     // clears stubs + requests
         // OR if you want to keep stubs and only clear recorded requests:
         // wireMock.resetRequests();
@@ -210,6 +217,57 @@ class OrderNotificationsTest {
                 ));
     }
 
+    @Test
+    void webhookDown_deadLettersMessage_andReplayRedeliversIt() throws Exception {
+        ensureWireMockStarted();
+
+        wireMock.stubFor(
+                com.github.tomakehurst.wiremock.client.WireMock.post(
+                                com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo("/notify"))
+                        .willReturn(com.github.tomakehurst.wiremock.client.WireMock.aResponse().withStatus(500))
+        );
+
+        mockMvc.perform(post("/orders")
+                        .with(httpBasic("user","password"))
+                        .contentType("application/json")
+                        .content("{\"customerId\":\"c123\"}"))
+                .andExpect(status().isCreated());
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(deadLetterRepository.count()).isEqualTo(1));
+
+        mockMvc.perform(get("/admin/dead-letters").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].channel").value("webhook"))
+                .andExpect(jsonPath("$.items[0].type").value("ORDER_CREATED"));
+
+        // receiver is back
+        wireMock.resetAll();
+        wireMock.stubFor(
+                com.github.tomakehurst.wiremock.client.WireMock.post(
+                                com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo("/notify"))
+                        .willReturn(com.github.tomakehurst.wiremock.client.WireMock.aResponse().withStatus(200))
+        );
+
+        mockMvc.perform(post("/admin/dead-letters/replay")
+                        .with(httpBasic("admin", "admin"))
+                        .contentType("application/json")
+                        .content("{\"ratePerSecond\":100}"))
+                .andExpect(status().isAccepted());
 
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> {
+                    assertThat(deadLetterRepository.count()).isZero();
+                    wireMock.verify(1, com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor(
+                            com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo("/notify")));
+                });
+    }
 
+    @Test
+    void deadLetterAdmin_requiresAdminRole() throws Exception {
+        mockMvc.perform(get("/admin/dead-letters").with(httpBasic("user", "password")))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,85 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.datasource.ReadWriteRoutingDataSource;
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.notification.event.OrderStatusChangedEvent;
+import com.sinik.orderapimanagement.service.OrderReadCoalescer;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderReadCoalescerTest {
+
+    private final OrderService service = mock(OrderService.class);
+    private final OrderReadCoalescer coalescer = new OrderReadCoalescer(service);
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private final UUID id = UUID.randomUUID();
+    private final Order before = Order.restore(id, OrderStatus.CREATED, "c1", Instant.EPOCH, Instant.EPOCH);
+    private final Order after = Order.restore(id, OrderStatus.COMPLETED, "c1", Instant.EPOCH, Instant.now());
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void readAfterCommittedStatusChange_startsNewLoad_insteadOfJoiningTheOlderOne() throws Exception {
+        Future<Order> early = startSlowLoadOfBefore_thenAnswerAfter();
+
+        coalescer.onOrderStatusChanged(new OrderStatusChangedEvent(id, OrderStatus.CREATED, OrderStatus.COMPLETED,
+                after.getUpdatedAt()));
+
+        assertThat(pool.submit(() -> coalescer.get(id)).get(5, TimeUnit.SECONDS)).isSameAs(after);
+        release.countDown();
+        assertThat(early.get(5, TimeUnit.SECONDS)).isSameAs(before);
+        verify(service, times(2)).get(id);
+    }
+
+    @Test
+    void callerPinnedToPrimary_loadsOnItsOwn() throws Exception {
+        Future<Order> unpinned = startSlowLoadOfBefore_thenAnswerAfter();
+
+        Future<Order> pinned = pool.submit(() -> {
+            ReadWriteRoutingDataSource.pinToPrimary();
+            try {
+                return coalescer.get(id);
+            } finally {
+                ReadWriteRoutingDataSource.unpin();
+            }
+        });
+
+        assertThat(pinned.get(5, TimeUnit.SECONDS)).isSameAs(after);
+        release.countDown();
+        assertThat(unpinned.get(5, TimeUnit.SECONDS)).isSameAs(before);
+    }
+
+    // The first get is still loading when this returns; later loads answer at once.
+    private Future<Order> startSlowLoadOfBefore_thenAnswerAfter() throws InterruptedException {
+        when(service.get(id)).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return before;
+        }).thenReturn(after);
+        Future<Order> load = pool.submit(() -> coalescer.get(id));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        return load;
+    }
+}
@@ -0,0 +1,76 @@
+package com.sinik.orderapimanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderStatusHistoryTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void statusChange_isAppendedToHistory() throws Exception {
+        String created = createOrder();
+        String id = JsonPath.read(created, "$.id");
+        mockMvc.perform(get("/orders/{id}/history", id).with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        String patched = mockMvc.perform(patch("/orders/{id}/status", id)
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Instant updatedAt = Instant.parse(JsonPath.read(patched, "$.updatedAt"));
+        assertThat(updatedAt).isAfter(Instant.parse(JsonPath.read(created, "$.createdAt")));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            String history = mockMvc.perform(get("/orders/{id}/history", id).with(httpBasic("user", "password")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].from").value("CREATED"))
+                    .andExpect(jsonPath("$[0].to").value("CANCELLED"))
+                    .andReturn().getResponse().getContentAsString();
+            // the new updatedAt, not the creation time a not-yet-flushed entity still holds
+            assertThat(Instant.parse(JsonPath.read(history, "$[0].changedAt"))).isEqualTo(updatedAt);
+        });
+    }
+
+    @Test
+    void history_ofMissingOrder_returns404() throws Exception {
+        mockMvc.perform(get("/orders/{id}/history", "00000000-0000-0000-0000-000000000000")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createOrder() throws Exception {
+        return mockMvc.perform(post("/orders")
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":\"history\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
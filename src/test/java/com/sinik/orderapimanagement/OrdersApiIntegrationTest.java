@@ -10,10 +10,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import  com.jayway.jsonpath.JsonPath;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -137,6 +140,22 @@ class OrdersApiIntegrationTest {
                 .andExpect(jsonPath("$.totalPages").isNumber());
     }
 
+    @Test
+    void search_withAcceptCbor_returnsCborPage() throws Exception {
+        createOrderAndGetId();
+
+        byte[] body = mockMvc.perform(get("/orders")
+                        .header("Authorization", basicAuthHeader())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertThat(page.get("items").size()).isEqualTo(1);
+        assertThat(page.get("items").get(0).get("customerId").asString()).isEqualTo("cust-1");
+    }
+
 
     // ---------------- Helpers ----------------
 
@@ -0,0 +1,63 @@
+package com.sinik.orderapimanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.point-read.rate-per-second=0.1",
+        "rate-limit.point-read.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void pointReads_overBurst_get429WithRetryAfter_perPrincipal() throws Exception {
+        String body = mockMvc.perform(post("/orders")
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":\"cust-rl\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(body, "$.id");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/orders/{id}", id).with(httpBasic("user", "password")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/orders/{id}", id).with(httpBasic("user", "password")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.details.endpointClass").value("POINT_READ"));
+
+        // every principal has its own bucket
+        mockMvc.perform(get("/orders/{id}", id).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unauthenticated_stillGets401() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/orders/{id}", "00000000-0000-0000-0000-000000000000"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+}
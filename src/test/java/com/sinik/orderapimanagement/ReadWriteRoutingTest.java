@@ -0,0 +1,123 @@
+package com.sinik.orderapimanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sinik.orderapimanagement.datasource.ReplicationStub;
+import com.sinik.orderapimanagement.datasource.RoutingDataSources;
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.error.OrderNotFoundException;
+import com.sinik.orderapimanagement.history.OrderStatusHistory;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases: the primary and one replica that only changes when the replication stub runs.
+ * The stub's first scheduled run (and every later one) is an hour out, so each test decides when
+ * the replica catches up.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "datasource.routing.enabled=true",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "datasource.routing.replicas[0].username=sa",
+        "datasource.routing.read-your-writes-window=1m",
+        "datasource.routing.replication.enabled=true",
+        "datasource.routing.replication.interval=1h",
+        "datasource.routing.replication.batch-size=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    ReplicationStub replicationStub;
+    @Autowired
+    RoutingDataSources sources;
+
+    @Test
+    void readOnlyGet_goesToReplica_andSeesOrderOnlyAfterReplication() {
+        Order created = orderService.create("c-replica");
+
+        assertThatThrownBy(() -> orderService.get(created.getId()))
+                .isInstanceOf(OrderNotFoundException.class);
+
+        assertThat(replicationStub.replicateOnce()).isGreaterThanOrEqualTo(1);
+        assertThat(orderService.get(created.getId()).getCustomerId()).isEqualTo("c-replica");
+    }
+
+    @Test
+    void getRightAfterCreate_bySameCaller_readsOwnWriteFromPrimary() throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":\"c-ryw\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(json, "$.id");
+
+        mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value("c-ryw"));
+    }
+
+    @Test
+    void history_isReadFromPrimary_whichAloneHasTheHistoryTable() {
+        Order created = orderService.create("c-history");
+        orderService.updateStatus(created.getId(), OrderStatus.COMPLETED);
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(orderService.history(created.getId()))
+                        .extracting(OrderStatusHistory::getToStatus)
+                        .containsExactly(OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void replication_copiesMoreRowsThanOneBatch_sharingOneUpdatedAt() {
+        // e.g. one expiry chunk: many rows stamped with the same updated_at in one UPDATE
+        JdbcTemplate primary = new JdbcTemplate(sources.primary());
+        Timestamp sameInstant = Timestamp.from(Instant.now());
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            primary.update("INSERT INTO orders (id, status, customer_id, created_at, updated_at) VALUES (?, 'CANCELLED', ?, ?, ?)",
+                    id, "c-same-ts-" + i, sameInstant, sameInstant);
+        }
+
+        replicationStub.replicateOnce();
+
+        JdbcTemplate replica = new JdbcTemplate(sources.replicas().get(0));
+        for (UUID id : ids) {
+            assertThat(replica.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id))
+                    .as("replicated %s", id).isEqualTo(1);
+        }
+    }
+}
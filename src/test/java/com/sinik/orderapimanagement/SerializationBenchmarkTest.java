@@ -0,0 +1,71 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.api.dto.OrderResponse;
+import com.sinik.orderapimanagement.api.dto.PageResponse;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode CPU of a 1,000-item search page as JSON and as CBOR.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationBenchmarkTest {
+
+    private static final int ITEMS = 1_000;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 1_000;
+
+    @Test
+    void orderPage_jsonVsCbor() throws Exception {
+        PageResponse<OrderResponse> page = page();
+
+        System.out.printf("%-6s %10s %14s %14s%n", "format", "bytes", "encode us/op", "decode us/op");
+        print("json", JsonMapper.builder().build(), page);
+        print("cbor", new CBORMapper(), page);
+    }
+
+    private static void print(String format, ObjectMapper mapper, PageResponse<OrderResponse> page) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+        assertThat(mapper.readValue(encoded, PageResponse.class).items()).hasSize(ITEMS);
+
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.writeValueAsBytes(page);
+            mapper.readTree(encoded);
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readTree(encoded);
+        }
+        long t2 = System.nanoTime();
+
+        System.out.printf("%-6s %10d %14.1f %14.1f%n", format, encoded.length,
+                (t1 - t0) / 1_000.0 / ROUNDS, (t2 - t1) / 1_000.0 / ROUNDS);
+    }
+
+    private static PageResponse<OrderResponse> page() {
+        List<OrderResponse> items = new ArrayList<>(ITEMS);
+        Instant now = Instant.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Instant createdAt = now.minusSeconds(i);
+            items.add(new OrderResponse(UUID.randomUUID(), OrderStatus.values()[i % OrderStatus.values().length],
+                    "customer-" + (i % 97), createdAt, createdAt.plusMillis(i)));
+        }
+        return new PageResponse<>(items, 0, ITEMS, 250_000, 250);
+    }
+}
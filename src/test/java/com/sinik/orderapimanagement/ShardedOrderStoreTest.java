@@ -0,0 +1,82 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.domain.OrderStatus;
+import com.sinik.orderapimanagement.error.InvalidStatusTransitionException;
+import com.sinik.orderapimanagement.repo.sharding.ShardedOrderStore;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "order.store.engine=sharded",
+        "order.sharding.shards[0].url=jdbc:h2:mem:shard_0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "order.sharding.shards[0].username=sa",
+        "order.sharding.shards[1].url=jdbc:h2:mem:shard_1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "order.sharding.shards[1].username=sa",
+        "order.sharding.shards[2].url=jdbc:h2:mem:shard_2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "order.sharding.shards[2].username=sa"
+})
+@ActiveProfiles("test")
+class ShardedOrderStoreTest {
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    ShardedOrderStore store;
+
+    @Test
+    void createGetAndUpdate_routeToTheOrdersShard() {
+        List<Order> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(orderService.create("shard-c" + i));
+        }
+
+        Set<Integer> usedShards = created.stream().map(o -> store.shardFor(o.getId())).collect(Collectors.toSet());
+        assertThat(usedShards).hasSize(store.shardCount());
+
+        Order first = created.get(0);
+        assertThat(orderService.get(first.getId()).getCustomerId()).isEqualTo("shard-c0");
+
+        Order completed = orderService.updateStatus(first.getId(), OrderStatus.COMPLETED);
+        assertThat(completed.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(orderService.get(first.getId()).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThatThrownBy(() -> orderService.updateStatus(first.getId(), OrderStatus.CANCELLED))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+    }
+
+    @Test
+    void search_mergesShardsInPageableOrder() {
+        Instant start = Instant.now();
+        for (int i = 0; i < 25; i++) {
+            orderService.create("merge-c" + String.format("%02d", i));
+        }
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "customerId");
+        List<String> expected = new ArrayList<>();
+        for (int i = 24; i >= 0; i--) {
+            expected.add("merge-c" + String.format("%02d", i));
+        }
+
+        Page<Order> page = orderService.search(null, start, null, PageRequest.of(1, 7, sort));
+
+        assertThat(page.getContent()).extracting(Order::getCustomerId)
+                .containsExactlyElementsOf(expected.subList(7, 14));
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallers_shareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flight.run("k", () -> {
+                loading.countDown();
+                awaitQuietly(release);
+                return loads.incrementAndGet();
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> flight.run("k", loads::incrementAndGet)));
+            }
+            await().atMost(5, TimeUnit.SECONDS).until(() -> flight.waiting("k") == 7);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void nothingIsCached_andFailuresReachTheCaller() {
+        assertThat(flight.run("k", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(flight.run("k", loads::incrementAndGet)).isEqualTo(2);
+
+        assertThatThrownBy(() -> flight.run("k", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flight.run("k", loads::incrementAndGet)).isEqualTo(3);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
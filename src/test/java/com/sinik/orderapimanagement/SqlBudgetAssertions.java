@@ -0,0 +1,31 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.monitoring.SqlStatementCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper for asserting how many SQL statements a block of code issues on the calling thread.
+ */
+final class SqlBudgetAssertions {
+    private SqlBudgetAssertions() {}
+
+    @FunctionalInterface
+    interface SqlAction {
+        void run() throws Exception;
+    }
+
+    static void assertStatements(int expected, SqlAction action) throws Exception {
+        assertThat(count(action)).as("SQL statements").isEqualTo(expected);
+    }
+
+    static void assertMaxStatements(int budget, SqlAction action) throws Exception {
+        assertThat(count(action)).as("SQL statements").isLessThanOrEqualTo(budget);
+    }
+
+    private static int count(SqlAction action) throws Exception {
+        SqlStatementCounter.reset();
+        action.run();
+        return SqlStatementCounter.current();
+    }
+}
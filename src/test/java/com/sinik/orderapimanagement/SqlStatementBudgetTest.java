@@ -0,0 +1,92 @@
+package com.sinik.orderapimanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sinik.orderapimanagement.repo.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.sinik.orderapimanagement.SqlBudgetAssertions.assertMaxStatements;
+import static com.sinik.orderapimanagement.SqlBudgetAssertions.assertStatements;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void create_issuesOneInsert() throws Exception {
+        assertStatements(1, this::createOrder);
+    }
+
+    @Test
+    void getById_issuesOneQuery() throws Exception {
+        String id = createOrder();
+
+        assertStatements(1, () -> mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getById_withStaleIfNoneMatch_issuesOneQuery() throws Exception {
+        String id = createOrder();
+
+        assertStatements(1, () -> mockMvc.perform(get("/orders/{id}", id)
+                        .with(httpBasic("user", "password"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateStatus_issuesAtMostTwoStatements() throws Exception {
+        String id = createOrder();
+
+        assertMaxStatements(2, () -> mockMvc.perform(patch("/orders/{id}/status", id)
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void search_partialFirstPage_skipsCountQuery() throws Exception {
+        createOrder();
+        createOrder();
+
+        assertStatements(1, () -> mockMvc.perform(get("/orders")
+                        .with(httpBasic("user", "password"))
+                        .param("status", "CREATED")
+                        .param("size", "20"))
+                .andExpect(status().isOk()));
+    }
+
+    private String createOrder() throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .with(httpBasic("user", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":\"c123\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(json, "$.id");
+    }
+}
@@ -0,0 +1,82 @@
+package com.sinik.orderapimanagement;
+
+import com.sinik.orderapimanagement.domain.Order;
+import com.sinik.orderapimanagement.monitoring.SqlStatementCounter;
+import com.sinik.orderapimanagement.service.OrderReadCoalescer;
+import com.sinik.orderapimanagement.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many clients reading the same freshly created order at once, with and without single-flight
+ * coalescing, counting the SQL statements issued. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ThunderingHerdBenchmarkTest {
+
+    private static final int CLIENTS = 200;
+    private static final int WAVES = 20;
+
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    OrderReadCoalescer reads;
+
+    @Test
+    void sameOrderReads_directVsSingleFlight() throws Exception {
+        // warm-up
+        herd(orderService.create("herd").getId(), orderService::get);
+        herd(orderService.create("herd").getId(), reads::get);
+
+        System.out.printf("%-13s %8s %10s %12s%n", "mode", "reads", "queries", "elapsed ms");
+        long direct = run("direct", orderService::get);
+        long coalesced = run("single-flight", reads::get);
+        assertThat(coalesced).isLessThan(direct);
+    }
+
+    private long run(String mode, Function<UUID, Order> read) throws Exception {
+        long queries = 0;
+        long start = System.nanoTime();
+        for (int wave = 0; wave < WAVES; wave++) {
+            UUID id = orderService.create("herd").getId();
+            long before = SqlStatementCounter.total();
+            herd(id, read);
+            queries += SqlStatementCounter.total() - before;
+        }
+        System.out.printf("%-13s %8d %10d %12d%n", mode, CLIENTS * WAVES, queries, (System.nanoTime() - start) / 1_000_000);
+        return queries;
+    }
+
+    private static void herd(UUID id, Function<UUID, Order> read) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Order>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return read.apply(id);
+                }));
+            }
+            go.countDown();
+            for (Future<Order> result : results) {
+                assertThat(result.get().getId()).isEqualTo(id);
+            }
+        }
+    }
+}